@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Whole-number operations: construction from <tt>String</tt> and
+ * <tt>File</tt>, decimal rendering, saving, change of scale and the
+ * additional operation.<p>
+ *
+ * Rendering is cached until the next modification, so
+ * {@link #toDecimalString(NumberState)} and {@link #saveList(NumberState)}
+ * rewrite the first digit with its own value to measure the conversion
+ * rather than the cache.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversionBenchmark {
+
+    @Benchmark
+    public NumberListImpl fromString(NumberState s) {
+        return new NumberListImpl(s.decimal);
+    }
+
+    @Benchmark
+    public NumberListImpl fromFile(NumberState s) {
+        return new NumberListImpl(s.input);
+    }
+
+    @Benchmark
+    public String toDecimalString(NumberState s) {
+        s.list.setDigit(0, s.list.getDigit(0));
+        return s.list.toDecimalString();
+    }
+
+    @Benchmark
+    public void saveList(NumberState s) {
+        s.list.setDigit(0, s.list.getDigit(0));
+        s.list.saveList(s.output);
+    }
+
+    @Benchmark
+    public NumberListImpl changeScale(NumberState s) {
+        return s.list.changeScale();
+    }
+
+    @Benchmark
+    public NumberListImpl additionalOperation(NumberState s) {
+        return s.list.additionalOperation(s.operand);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared benchmark input: random <b>decimal</b> number with <tt>digits</tt>
+ * digits, the same number stored in a file and built into a list, and a
+ * second operand of half the length for
+ * {@link NumberListImpl#additionalOperation(ua.kpi.comsys.test2.NumberList)}.<p>
+ *
+ * Numbers are generated from a fixed seed, so every run measures the same
+ * input.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+@State(Scope.Benchmark)
+public class NumberState {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int digits;
+
+    public String decimal;
+    public File input;
+    public File output;
+    public NumberListImpl list;
+    public NumberListImpl operand;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random rnd = new Random(8971L + digits);
+        decimal = randomDecimal(rnd, digits);
+        input = File.createTempFile("bench-in", ".txt");
+        output = File.createTempFile("bench-out", ".txt");
+        try (FileWriter fw = new FileWriter(input)) {
+            fw.write(decimal);
+        }
+        list = new NumberListImpl(decimal);
+        operand = new NumberListImpl(randomDecimal(rnd, Math.max(1, digits / 2)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+        output.delete();
+    }
+
+    private static String randomDecimal(Random rnd, int n) {
+        char[] c = new char[n];
+        c[0] = (char) ('1' + rnd.nextInt(9));
+        for (int i = 1; i < n; ++i) {
+            c[i] = (char) ('0' + rnd.nextInt(10));
+        }
+        return new String(c);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <tt>get</tt>, <tt>set</tt>, <tt>add</tt> and <tt>remove</tt> at the head,
+ * in the middle and at the tail of the list.<p>
+ *
+ * <tt>add</tt> and <tt>remove</tt> are measured in pairs, so the list keeps
+ * its size between invocations.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PositionalBenchmark {
+
+    public enum Position { HEAD, MIDDLE, TAIL }
+
+    @State(Scope.Benchmark)
+    public static class Index {
+        @Param({"HEAD", "MIDDLE", "TAIL"})
+        public Position position;
+
+        public int index;
+
+        @Setup
+        public void setUp(NumberState s) {
+            int size = s.list.size();
+            switch (position) {
+                case HEAD:
+                    index = 0;
+                    break;
+                case MIDDLE:
+                    index = size / 2;
+                    break;
+                default:
+                    index = size - 1;
+            }
+        }
+    }
+
+    @Benchmark
+    public Byte get(NumberState s, Index i) {
+        return s.list.get(i.index);
+    }
+
+    @Benchmark
+    public Byte set(NumberState s, Index i) {
+        return s.list.set(i.index, s.list.get(i.index));
+    }
+
+    @Benchmark
+    public Byte addRemove(NumberState s, Index i) {
+        s.list.add(i.index, (byte) 1);
+        return s.list.remove(i.index);
+    }
+
+    @Benchmark
+    public Byte removeAdd(NumberState s, Index i) {
+        Byte v = s.list.remove(i.index);
+        s.list.add(i.index, v);
+        return v;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Operations that walk the whole list: iteration, sorts, shifts and
+ * <tt>equals</tt>.<p>
+ *
+ * Sorts run as ascending-then-descending pair, so each sort always gets the
+ * reversed order of the previous one. Shifts run as left-then-right pair
+ * and leave the number unchanged.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TraversalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Copy {
+        public NumberListImpl list;
+
+        @Setup
+        public void setUp(NumberState s) {
+            list = s.list.copy();
+        }
+    }
+
+    @Benchmark
+    public int iterator(NumberState s) {
+        int sum = 0;
+        Iterator<Byte> it = s.list.iterator();
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void sorts(Copy c) {
+        c.list.sortAscending();
+        c.list.sortDescending();
+    }
+
+    @Benchmark
+    public void shifts(NumberState s) {
+        s.list.shiftLeft();
+        s.list.shiftRight();
+    }
+
+    @Benchmark
+    public boolean equalsCopy(NumberState s, Copy c) {
+        return s.list.equals(c.list);
+    }
+}
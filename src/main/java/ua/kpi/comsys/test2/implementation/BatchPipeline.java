@@ -0,0 +1,544 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line batch processing of decimal numbers, one per line.<p>
+ *
+ * Every record passes the configured stages: parsing into
+ * <tt>NumberListImpl</tt>, any sequence of <tt>changeScale</tt> and
+ * <tt>additionalOperation</tt> with a fixed divisor, then formatting.
+ * Lines are grouped into batches processed by a fixed pool of threads.
+ * At most <tt>inFlight</tt> batches are queued or running, so input is
+ * read only as fast as it is processed and memory stays bounded. Output
+ * is written in input order. Invalid records produce empty lines and are
+ * counted as errors.<p>
+ *
+ * At the end throughput, latency percentiles of single records and peak
+ * heap usage are reported to standard error. Run with <tt>--help</tt> for
+ * the list of options, e.g.
+ * <pre>
+ * java -cp out/main ua.kpi.comsys.test2.implementation.BatchPipeline \
+ *     --stages parse,mod,scale,format --divisor 1000000007 numbers.txt
+ * </pre>
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public final class BatchPipeline {
+
+    /**
+     * Processing stages. Pipeline starts with <tt>PARSE</tt>, ends with
+     * <tt>FORMAT</tt> and has any number of other stages between them.
+     */
+    public enum Stage {
+        /** Decimal string to <tt>NumberListImpl</tt>. */
+        PARSE,
+        /** <tt>changeScale</tt>. */
+        SCALE,
+        /** <tt>additionalOperation</tt> with the divisor. */
+        MOD,
+        /** <tt>NumberListImpl</tt> to string. */
+        FORMAT
+    }
+
+    /**
+     * How <tt>FORMAT</tt> renders numbers.
+     */
+    public enum Format {
+        /** Digits in the current scale of notation, as <tt>toString</tt>. */
+        DIGITS,
+        /** Decimal notation, as written by <tt>saveList</tt>. */
+        DECIMAL
+    }
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: BatchPipeline [--help] [options] [file...]",
+            "Reads decimal numbers, one per line, from files or standard input ('-').",
+            "  --stages LIST    parse,{scale|mod}*,format (default parse,scale,format)",
+            "  --divisor N      decimal divisor of the mod stage",
+            "  --format F       digits or decimal (default digits)",
+            "  --threads N      worker threads (default number of processors)",
+            "  --batch N        records per batch (default 1024)",
+            "  --in-flight N    batches queued or running at once (default 2 * threads)",
+            "  --output FILE    output file (default standard output)");
+
+    private final List<Stage> stages;
+    private final NumberListImpl divisor;
+    private final Format format;
+    private final int threads;
+    private final int batchSize;
+    private final int inFlight;
+
+    /**
+     * Constructs pipeline.
+     *
+     * @param stages - stages from <tt>PARSE</tt> to <tt>FORMAT</tt>.
+     * @param divisor - divisor of <tt>MOD</tt> stages, may be <tt>null</tt>
+     *                  when there are none.
+     * @param format - rendering of the <tt>FORMAT</tt> stage.
+     * @param threads - number of worker threads.
+     * @param batchSize - number of records per batch.
+     * @param inFlight - number of batches queued or running at once.
+     */
+    public BatchPipeline(List<Stage> stages, NumberListImpl divisor, Format format,
+                         int threads, int batchSize, int inFlight) {
+        if (stages == null || stages.size() < 2
+                || stages.get(0) != Stage.PARSE || stages.get(stages.size() - 1) != Stage.FORMAT
+                || stages.subList(1, stages.size() - 1).contains(Stage.PARSE)
+                || stages.subList(1, stages.size() - 1).contains(Stage.FORMAT)) {
+            throw new IllegalArgumentException("Stages have to go from parse to format: " + stages);
+        }
+        if (stages.contains(Stage.MOD) && (divisor == null || divisor.toBigInteger().signum() == 0)) {
+            throw new IllegalArgumentException("mod stage needs nonzero divisor");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("format is null");
+        }
+        if (threads < 1 || batchSize < 1 || inFlight < 1) {
+            throw new IllegalArgumentException("threads, batch and in-flight have to be positive");
+        }
+        this.stages = List.copyOf(stages);
+        this.divisor = divisor == null ? null : divisor.copy();
+        this.format = format;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Processes all lines of <tt>in</tt> and writes results to
+     * <tt>out</tt>, one line per input line, in the same order. Neither
+     * stream is closed.
+     *
+     * @param in - input lines.
+     * @param out - output.
+     * @return statistics of the run.
+     * @throws IOException if reading or writing fails.
+     */
+    public Report run(BufferedReader in, Writer out) throws IOException {
+        return run(in::readLine, out);
+    }
+
+    /**
+     * Same as {@link #run(BufferedReader, Writer)}, for any source of lines.
+     */
+    Report run(LineSource in, Writer out) throws IOException {
+        List<MemoryPoolMXBean> heap = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                heap.add(pool);
+            }
+        }
+        Report report = new Report();
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-pipeline");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            ArrayDeque<Future<Batch>> pending = new ArrayDeque<>();
+            boolean eof = false;
+            while (!eof) {
+                List<String> lines = new ArrayList<>(batchSize);
+                String line;
+                while (lines.size() < batchSize && (line = in.readLine()) != null) {
+                    lines.add(line);
+                }
+                eof = lines.size() < batchSize;
+                if (!lines.isEmpty()) {
+                    Batch batch = new Batch(lines);
+                    pending.add(workers.submit(() -> process(batch)));
+                }
+                while (pending.size() > (eof ? 0 : inFlight - 1)) {
+                    write(await(pending.removeFirst()), out, report);
+                }
+            }
+            out.flush();
+        } finally {
+            workers.shutdownNow();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        for (MemoryPoolMXBean pool : heap) {
+            report.peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+        return report;
+    }
+
+    private Batch process(Batch batch) {
+        List<String> lines = batch.lines;
+        for (int i = 0; i < lines.size(); ++i) {
+            long t = System.nanoTime();
+            try {
+                batch.results[i] = apply(lines.get(i));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                batch.results[i] = "";
+                batch.errors++;
+            }
+            batch.latency.record(System.nanoTime() - t);
+        }
+        return batch;
+    }
+
+    private String apply(String line) {
+        NumberListImpl value = null;
+        String res = null;
+        for (Stage stage : stages) {
+            switch (stage) {
+                case PARSE:
+                    value = parse(line.trim());
+                    break;
+                case SCALE:
+                    value = value.changeScale();
+                    break;
+                case MOD:
+                    value = value.additionalOperation(divisor);
+                    break;
+                case FORMAT:
+                    res = format == Format.DECIMAL ? value.toDecimalString() : value.toString();
+                    break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Unlike the <tt>String</tt> constructor, rejects malformed records
+     * instead of returning empty list.
+     */
+    private static NumberListImpl parse(String s) {
+        if (s.isEmpty()) {
+            throw new NumberFormatException("Empty record");
+        }
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid decimal string: " + s);
+            }
+        }
+        return new NumberListImpl(s);
+    }
+
+    private static Batch await(Future<Batch> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch failed", e.getCause());
+        }
+    }
+
+    private static void write(Batch batch, Writer out, Report report) throws IOException {
+        for (String s : batch.results) {
+            out.write(s);
+            out.write('\n');
+        }
+        report.records += batch.results.length;
+        report.errors += batch.errors;
+        report.latency.add(batch.latency);
+    }
+
+    private static final class Batch {
+        final List<String> lines;
+        final String[] results;
+        final Histogram latency = new Histogram();
+        int errors;
+
+        Batch(List<String> lines) {
+            this.lines = lines;
+            this.results = new String[lines.size()];
+        }
+    }
+
+    /**
+     * Log-linear histogram of nanoseconds: 16 buckets per power of two, so
+     * percentiles are exact to within 1/16 of their value.
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 4;
+        private final long[] counts = new long[64 << SUB_BITS];
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            long v = Math.max(nanos, 0);
+            counts[index(v)]++;
+            total++;
+            max = Math.max(max, v);
+        }
+
+        void add(Histogram other) {
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+            max = Math.max(max, other.max);
+        }
+
+        /**
+         * Returns upper bound of the bucket holding the <tt>p</tt>-th
+         * percentile, but not more than the maximum.
+         */
+        long percentile(double p) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        long max() {
+            return max;
+        }
+
+        private static int index(long v) {
+            if (v < 1L << SUB_BITS) {
+                return (int) v;
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+            return (exp - SUB_BITS + 1 << SUB_BITS) + sub;
+        }
+
+        private static long upperBound(int index) {
+            if (index < 1 << SUB_BITS) {
+                return index;
+            }
+            int exp = (index >>> SUB_BITS) + SUB_BITS - 1;
+            long sub = index & ((1 << SUB_BITS) - 1);
+            return ((1L << SUB_BITS | sub) + 1 << (exp - SUB_BITS)) - 1;
+        }
+    }
+
+    /**
+     * Statistics of a run.
+     */
+    public static final class Report {
+        private long records;
+        private long errors;
+        private long elapsedNanos;
+        private long peakHeapBytes;
+        private final Histogram latency = new Histogram();
+
+        private Report() {
+        }
+
+        public long records() {
+            return records;
+        }
+
+        public long errors() {
+            return errors;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double recordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns latency of a single record at given percentile.
+         *
+         * @param p - percentile from 0 to 100.
+         * @return latency in nanoseconds.
+         */
+        public long latencyNanos(double p) {
+            return latency.percentile(p);
+        }
+
+        /**
+         * Returns sum of peak usages of heap memory pools during the run.
+         *
+         * @return peak heap usage in bytes.
+         */
+        public long peakHeapBytes() {
+            return peakHeapBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "records %d (errors %d) in %.3f s, %.0f records/s%n"
+                            + "latency us: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n"
+                            + "peak heap %.1f MiB",
+                    records, errors, elapsedNanos / 1e9, recordsPerSecond(),
+                    latencyNanos(50) / 1e3, latencyNanos(90) / 1e3, latencyNanos(99) / 1e3,
+                    latencyNanos(99.9) / 1e3, latency.max() / 1e3,
+                    peakHeapBytes / (1024.0 * 1024.0));
+        }
+    }
+
+    /**
+     * Source of input lines; <tt>null</tt> marks the end.
+     */
+    interface LineSource {
+        String readLine() throws IOException;
+    }
+
+    /**
+     * Lines of several files read one after another, <tt>"-"</tt> standing
+     * for standard input. Each file has its own reader, so a last line
+     * without a newline is never joined with the first line of the next
+     * file. A file is opened only when the previous one is exhausted, and
+     * closed right after.
+     */
+    static final class FileLines implements LineSource, Closeable {
+        private final Iterator<String> files;
+        private BufferedReader current;
+
+        FileLines(List<String> files) {
+            this.files = files.iterator();
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            while (true) {
+                if (current == null) {
+                    if (!files.hasNext()) {
+                        return null;
+                    }
+                    String f = files.next();
+                    current = new BufferedReader(new InputStreamReader(
+                            f.equals("-") ? System.in : new FileInputStream(f), StandardCharsets.US_ASCII));
+                }
+                String line = current.readLine();
+                if (line != null) {
+                    return line;
+                }
+                close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            BufferedReader r = current;
+            current = null;
+            if (r != null) {
+                r.close();
+            }
+        }
+    }
+
+    /**
+     * Parses options, runs the pipeline and prints the report to standard
+     * error. Exits with status 2 on invalid arguments.
+     *
+     * @param args - options and input files.
+     */
+    public static void main(String[] args) throws IOException {
+        List<Stage> stages = List.of(Stage.PARSE, Stage.SCALE, Stage.FORMAT);
+        NumberListImpl divisor = null;
+        Format format = Format.DIGITS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batch = 1024;
+        int inFlight = -1;
+        String output = null;
+        List<String> files = new ArrayList<>();
+        BatchPipeline pipeline;
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                String arg = args[i];
+                if (arg.equals("--help")) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                if (!arg.startsWith("--")) {
+                    files.add(arg);
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value of " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--stages":
+                        stages = new ArrayList<>();
+                        for (String s : value.split(",")) {
+                            stages.add(Stage.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+                        }
+                        break;
+                    case "--divisor":
+                        divisor = parse(value);
+                        break;
+                    case "--format":
+                        format = Format.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(value);
+                        break;
+                    case "--in-flight":
+                        inFlight = Integer.parseInt(value);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            pipeline = new BatchPipeline(stages, divisor, format, threads, batch,
+                    inFlight < 0 ? 2 * threads : inFlight);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (files.isEmpty()) {
+            files.add("-");
+        }
+        try (FileLines in = new FileLines(files);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     output == null ? System.out : new FileOutputStream(output), StandardCharsets.US_ASCII), 1 << 16)) {
+            Report report = pipeline.run(in, out);
+            System.err.println(report);
+        }
+    }
+}
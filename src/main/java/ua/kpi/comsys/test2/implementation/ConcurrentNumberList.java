@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Thread-safe <tt>NumberList</tt> backed by <tt>NumberListImpl</tt>.<p>
+ *
+ * Read operations are first attempted as <tt>StampedLock</tt> optimistic
+ * reads, so readers do not block each other and do not write to shared
+ * lock state. When a writer interferes, the read is repeated under the
+ * read lock. Mutations take the exclusive write lock.<p>
+ *
+ * The guarded list is kept with its nodes built, so reads never change
+ * internal state of the list.<p>
+ *
+ * Iterators, list iterators and sub lists are snapshots taken at the moment
+ * of the call: they never throw <tt>ConcurrentModificationException</tt>
+ * and do not support modification.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public class ConcurrentNumberList implements NumberList {
+
+    private final NumberListImpl list;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Constructs new empty <tt>ConcurrentNumberList</tt>.
+     */
+    public ConcurrentNumberList() {
+        this(new NumberListImpl());
+    }
+
+    /**
+     * Constructs new <tt>ConcurrentNumberList</tt> which takes ownership of
+     * the specified list. The list must not be accessed directly afterwards.
+     *
+     * @param list - list to be guarded.
+     */
+    public ConcurrentNumberList(NumberListImpl list) {
+        if (list == null) {
+            throw new IllegalArgumentException("list is null");
+        }
+        list.inflate();
+        this.list = list;
+    }
+
+    /**
+     * Returns independent copy of the guarded list.
+     *
+     * @return consistent copy of current value.
+     */
+    public NumberListImpl snapshot() {
+        return read(list::copy);
+    }
+
+    /**
+     * @see NumberListImpl#toDecimalString()
+     */
+    public String toDecimalString() {
+        return readCached(() -> list.toDecimalString(false), list::cacheDecimalString);
+    }
+
+    /**
+     * @see NumberListImpl#changeScale()
+     */
+    public NumberListImpl changeScale() {
+        return read(list::changeScale);
+    }
+
+    /**
+     * @see NumberListImpl#additionalOperation(NumberList)
+     */
+    public NumberListImpl additionalOperation(NumberList arg) {
+        NumberList other = arg instanceof ConcurrentNumberList
+                ? ((ConcurrentNumberList) arg).snapshot()
+                : arg;
+        return read(() -> list.additionalOperation(other));
+    }
+
+    /**
+     * Saves consistent snapshot of the number into specified file.
+     * File is written outside of the lock.
+     *
+     * @see NumberListImpl#saveList(File)
+     */
+    public void saveList(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file is null");
+        }
+        String s = toDecimalString();
+        try (java.io.FileWriter fw = new java.io.FileWriter(file)) {
+            fw.write(s);
+            fw.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot write to file", e);
+        }
+    }
+
+    /**
+     * Runs read-only operation as optimistic read, falling back to the read
+     * lock when the stamp is invalidated by a writer. Failures observed
+     * under an invalid stamp are discarded, because they may be caused by
+     * a torn view of the list.
+     */
+    private <T> T read(Supplier<T> op) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T res = op.get();
+                if (lock.validate(stamp)) {
+                    return res;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return readLocked(op);
+    }
+
+    /**
+     * Optimistic read of a value the list caches. <tt>op</tt> computes it
+     * without writing the cache; <tt>publish</tt> stores it for the
+     * <tt>modCount</tt> observed under the stamp, and runs only once the
+     * stamp is validated, so a result of a torn view never reaches the
+     * cache. Under the read lock both happen together.
+     */
+    private <T> T readCached(Supplier<T> op, ObjIntConsumer<T> publish) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                int mc = list.modCount();
+                T res = op.get();
+                if (lock.validate(stamp)) {
+                    publish.accept(res, mc);
+                    return res;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return readLocked(() -> {
+            T res = op.get();
+            publish.accept(res, list.modCount());
+            return res;
+        });
+    }
+
+    /**
+     * Runs read operation under the read lock.
+     */
+    private <T> T readLocked(Supplier<T> op) {
+        long stamp = lock.readLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T write(Supplier<T> op) {
+        long stamp = lock.writeLock();
+        try {
+            return op.get();
+        } finally {
+            list.inflate();
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void write(Runnable op) {
+        long stamp = lock.writeLock();
+        try {
+            op.run();
+        } finally {
+            list.inflate();
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int res = list.size();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                res = list.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return res;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+        return read(() -> list.contains(o));
+    }
+
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return listIterator(0);
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        return read(list::toArray);
+    }
+
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return read(() -> list.toArray(a));
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        return write(() -> list.add(e));
+    }
+
+
+    @Override
+    public boolean remove(Object o) {
+        return write(() -> list.remove(o));
+    }
+
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return read(() -> list.containsAll(c));
+    }
+
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        return write(() -> list.addAll(c));
+    }
+
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Byte> c) {
+        return write(() -> list.addAll(index, c));
+    }
+
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return write(() -> list.removeAll(c));
+    }
+
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return write(() -> list.retainAll(c));
+    }
+
+
+    @Override
+    public void clear() {
+        write(list::clear);
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        return read(() -> list.get(index));
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        return write(() -> list.set(index, element));
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        write(() -> list.add(index, element));
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        return write(() -> list.remove(index));
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        return read(() -> list.indexOf(o));
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return read(() -> list.lastIndexOf(o));
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator() {
+        return listIterator(0);
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator(int index) {
+        byte[] digits = read(list::toDigitArray);
+        if (index < 0 || index > digits.length)
+            throw new IndexOutOfBoundsException();
+        return new SnapshotIterator(digits, index);
+    }
+
+
+    @Override
+    public List<Byte> subList(int fromIndex, int toIndex) {
+        return Collections.unmodifiableList(read(() -> list.subList(fromIndex, toIndex)));
+    }
+
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        return write(() -> list.swap(index1, index2));
+    }
+
+
+    @Override
+    public void sortAscending() {
+        write(list::sortAscending);
+    }
+
+
+    @Override
+    public void sortDescending() {
+        write(list::sortDescending);
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        write(list::shiftLeft);
+    }
+
+
+    @Override
+    public void shiftRight() {
+        write(list::shiftRight);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        Object other = o instanceof ConcurrentNumberList
+                ? ((ConcurrentNumberList) o).snapshot()
+                : o;
+        return read(() -> list.equals(other));
+    }
+
+
+    @Override
+    public int hashCode() {
+        return readCached(() -> list.hashCode(false), list::cacheHashCode);
+    }
+
+
+    @Override
+    public String toString() {
+        return readCached(() -> list.toString(false), list::cacheString);
+    }
+
+    /**
+     * Read-only iterator over a private copy of the digits.
+     */
+    private static class SnapshotIterator implements ListIterator<Byte> {
+
+        private final byte[] digits;
+        private int cursor;
+
+        SnapshotIterator(byte[] digits, int index) {
+            this.digits = digits;
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < digits.length;
+        }
+
+        @Override
+        public Byte next() {
+            if (cursor >= digits.length) {
+                throw new NoSuchElementException();
+            }
+            return digits[cursor++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Byte previous() {
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            return digits[--cursor];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
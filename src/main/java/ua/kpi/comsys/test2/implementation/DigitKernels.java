@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Scans over contiguous digits: validation, search and counting.<p>
+ *
+ * Digits come either one per byte, or packed by <tt>bits</tt> = 1, 2 or 4
+ * per field, the first digit in the lowest field of a byte (the layout of
+ * {@link OffHeapNumberList}). Packed scans look at whole bytes only;
+ * callers handle a partly filled last byte themselves.<p>
+ *
+ * When module <tt>jdk.incubator.vector</tt> is present (JVM started with
+ * <tt>--add-modules jdk.incubator.vector</tt>), ranges of at least
+ * {@link #VECTOR_MIN} bytes are processed by {@link VectorDigitKernels}, a
+ * full vector register at a time. Otherwise, and for short ranges, the
+ * scalar loops below are used; <tt>VectorDigitKernels</tt> is then never
+ * loaded.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class DigitKernels {
+
+    /** Whether the Vector API is available. */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Shortest range, in bytes, worth setting up vectors for. */
+    static final int VECTOR_MIN = 64;
+
+    private DigitKernels() {
+    }
+
+    /**
+     * Returns index of the first digit of <tt>a[from..to)</tt> which is
+     * negative or not less than <tt>base</tt>, or -1 if all are valid.
+     */
+    static int firstInvalid(byte[] a, int from, int to, int base) {
+        if (VECTORIZED && to - from >= VECTOR_MIN) {
+            return VectorDigitKernels.firstInvalid(a, from, to, base);
+        }
+        return scalarFirstInvalid(a, from, to, base);
+    }
+
+    /**
+     * Returns index of the first byte of <tt>packed[from..to)</tt> holding
+     * a field not less than <tt>base</tt>, or -1.
+     */
+    static int firstInvalidPacked(byte[] packed, int from, int to, int bits, int base) {
+        if (base >= 1 << bits) {
+            return -1;
+        }
+        if (VECTORIZED && to - from >= VECTOR_MIN) {
+            return VectorDigitKernels.firstInvalidPacked(packed, from, to, bits, base);
+        }
+        return scalarFirstInvalidPacked(packed, from, to, bits, base);
+    }
+
+    /**
+     * Returns index of the first byte of <tt>packed[from..to)</tt> holding
+     * a field equal to <tt>digit</tt>, or -1.
+     */
+    static int indexOfPacked(byte[] packed, int from, int to, int bits, int digit) {
+        if (VECTORIZED && to - from >= VECTOR_MIN) {
+            return VectorDigitKernels.indexOfPacked(packed, from, to, bits, digit);
+        }
+        return scalarIndexOfPacked(packed, from, to, bits, digit);
+    }
+
+    /**
+     * Adds numbers of fields of <tt>packed[from..to)</tt> equal to
+     * <tt>0..counts.length-1</tt> to <tt>counts</tt>. Other values are not
+     * counted.
+     */
+    static void countPacked(byte[] packed, int from, int to, int bits, long[] counts) {
+        if (VECTORIZED && to - from >= VECTOR_MIN) {
+            VectorDigitKernels.countPacked(packed, from, to, bits, counts);
+        } else {
+            scalarCountPacked(packed, from, to, bits, counts);
+        }
+    }
+
+    static int scalarFirstInvalid(byte[] a, int from, int to, int base) {
+        for (int i = from; i < to; ++i) {
+            if ((a[i] & 0xFF) >= base) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int scalarFirstInvalidPacked(byte[] packed, int from, int to, int bits, int base) {
+        int mask = (1 << bits) - 1;
+        for (int i = from; i < to; ++i) {
+            int b = packed[i] & 0xFF;
+            for (int shift = 0; shift < 8; shift += bits) {
+                if ((b >>> shift & mask) >= base) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    static int scalarIndexOfPacked(byte[] packed, int from, int to, int bits, int digit) {
+        int mask = (1 << bits) - 1;
+        for (int i = from; i < to; ++i) {
+            int b = packed[i] & 0xFF;
+            for (int shift = 0; shift < 8; shift += bits) {
+                if ((b >>> shift & mask) == digit) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    static void scalarCountPacked(byte[] packed, int from, int to, int bits, long[] counts) {
+        int mask = (1 << bits) - 1;
+        for (int i = from; i < to; ++i) {
+            int b = packed[i] & 0xFF;
+            for (int shift = 0; shift < 8; shift += bits) {
+                int d = b >>> shift & mask;
+                if (d < counts.length) {
+                    counts[d]++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Helpers for non-negative numbers stored as little-endian arrays of
+ * unsigned 64-bit limbs. Arrays may contain leading (high) zero limbs.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class Limbs {
+
+    static final long[] ZERO = new long[0];
+
+    private Limbs() {
+    }
+
+    /**
+     * Returns number of limbs without high zero limbs.
+     */
+    static int length(long[] mag) {
+        int n = mag.length;
+        while (n > 0 && mag[n - 1] == 0) n--;
+        return n;
+    }
+
+    /**
+     * Converts non-negative <tt>BigInteger</tt> into limbs in linear time.
+     */
+    static long[] fromBigInteger(BigInteger value) {
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Negative value");
+        }
+        byte[] bytes = value.toByteArray();
+        long[] mag = new long[(bytes.length + 7) / 8];
+        for (int i = 0; i < bytes.length; ++i) {
+            int pos = bytes.length - 1 - i;
+            mag[i >>> 3] |= (bytes[pos] & 0xFFL) << ((i & 7) << 3);
+        }
+        return mag;
+    }
+
+    /**
+     * Converts limbs into <tt>BigInteger</tt> in linear time.
+     */
+    static BigInteger toBigInteger(long[] mag) {
+        int n = length(mag);
+        if (n == 0) {
+            return BigInteger.ZERO;
+        }
+        byte[] bytes = new byte[n * 8];
+        for (int i = 0; i < n; ++i) {
+            long w = mag[i];
+            int pos = bytes.length - 1 - i * 8;
+            for (int j = 0; j < 8; ++j) {
+                bytes[pos - j] = (byte) (w >>> (j << 3));
+            }
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * Adds <tt>addend</tt> to <tt>acc</tt> in place. Returns <tt>acc</tt>
+     * or a longer copy of it when the sum does not fit.
+     */
+    static long[] addInto(long[] acc, long[] addend) {
+        int n = length(addend);
+        if (acc.length < n) {
+            acc = Arrays.copyOf(acc, n + 1);
+        }
+        long carry = 0;
+        int i = 0;
+        for (; i < n; ++i) {
+            long a = acc[i];
+            long s = a + addend[i] + carry;
+            carry = Long.compareUnsigned(s, a) < 0 || (carry != 0 && s == a) ? 1 : 0;
+            acc[i] = s;
+        }
+        for (; carry != 0 && i < acc.length; ++i) {
+            acc[i]++;
+            carry = acc[i] == 0 ? 1 : 0;
+        }
+        if (carry != 0) {
+            acc = Arrays.copyOf(acc, acc.length + 1);
+            acc[acc.length - 1] = 1;
+        }
+        return acc;
+    }
+
+    /**
+     * Packs digits <tt>digits[from..to)</tt> of base <tt>2<sup>shift</sup></tt>,
+     * the most significant first, into limbs in linear time.
+     */
+    static long[] fromDigits(byte[] digits, int from, int to, int shift) {
+        long[] mag = new long[(int) (((long) (to - from) * shift + 63) >>> 6)];
+        long pos = 0;
+        for (int i = to - 1; i >= from; --i, pos += shift) {
+            long d = digits[i];
+            int w = (int) (pos >>> 6);
+            int off = (int) (pos & 63);
+            mag[w] |= d << off;
+            if (off + shift > 64) {
+                mag[w + 1] |= d >>> (64 - off);
+            }
+        }
+        return mag;
+    }
+
+    /**
+     * Unpacks limbs into digits of base <tt>2<sup>shift</sup></tt>, the
+     * most significant first, without leading zeros. Zero is a single
+     * digit.
+     */
+    static byte[] toDigits(long[] mag, int shift) {
+        int n = length(mag);
+        if (n == 0) {
+            return new byte[1];
+        }
+        long bits = 64L * n - Long.numberOfLeadingZeros(mag[n - 1]);
+        byte[] digits = new byte[(int) ((bits + shift - 1) / shift)];
+        long mask = (1L << shift) - 1;
+        long pos = 0;
+        for (int i = digits.length - 1; i >= 0; --i, pos += shift) {
+            int w = (int) (pos >>> 6);
+            int off = (int) (pos & 63);
+            long v = mag[w] >>> off;
+            if (off + shift > 64 && w + 1 < n) {
+                v |= mag[w + 1] << (64 - off);
+            }
+            digits[i] = (byte) (v & mask);
+        }
+        return digits;
+    }
+
+    static long[] and(long[] a, long[] b) {
+        long[] res = new long[Math.min(a.length, b.length)];
+        for (int i = 0; i < res.length; ++i) {
+            res[i] = a[i] & b[i];
+        }
+        return res;
+    }
+
+    static long[] or(long[] a, long[] b) {
+        if (a.length < b.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        long[] res = a.clone();
+        for (int i = 0; i < b.length; ++i) {
+            res[i] |= b[i];
+        }
+        return res;
+    }
+
+    static long[] xor(long[] a, long[] b) {
+        if (a.length < b.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        long[] res = a.clone();
+        for (int i = 0; i < b.length; ++i) {
+            res[i] ^= b[i];
+        }
+        return res;
+    }
+
+    static long[] andNot(long[] a, long[] b) {
+        long[] res = a.clone();
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; ++i) {
+            res[i] &= ~b[i];
+        }
+        return res;
+    }
+}
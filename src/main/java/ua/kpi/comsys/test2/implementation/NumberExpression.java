@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Lazy chain of operations over numbers stored in <tt>NumberList</tt>s.<p>
+ *
+ * Every builder method returns new immutable expression which shares the
+ * earlier steps with the original one; nothing is computed until
+ * {@link #evaluate()}, {@link #toDecimalString()} or {@link #toBigInteger()}
+ * is called. Evaluation converts the source and every operand into binary
+ * form once, runs the whole chain on it and builds digits only for the
+ * final result, so
+ * <pre>
+ *     NumberExpression.of(a).mod(b).changeScale().toDecimalString()
+ * </pre>
+ * creates no intermediate lists, unlike
+ * <tt>a.additionalOperation(b).changeScale().toDecimalString()</tt>.<p>
+ *
+ * Operand lists are read at evaluation time, so later changes of them are
+ * seen by the next evaluation. Lists other than <tt>NumberListImpl</tt>
+ * are read as decimal digits, as in <tt>additionalOperation</tt>.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public final class NumberExpression {
+
+    private enum Op {
+        SOURCE, MOD, ADD, SUBTRACT, MULTIPLY, DIVIDE, SCALE, SHIFT_LEFT, SHIFT_RIGHT
+    }
+
+    private final NumberExpression previous;
+    private final Op op;
+    private final NumberList operand;
+    /** Target scale of notation of <tt>SCALE</tt>, digit count of shifts. */
+    private final int amount;
+    /** Scale of notation of the result of this step. */
+    private final int base;
+    private final int length;
+
+    private NumberExpression(NumberExpression previous, Op op, NumberList operand, int amount, int base) {
+        this.previous = previous;
+        this.op = op;
+        this.operand = operand;
+        this.amount = amount;
+        this.base = base;
+        this.length = previous == null ? 1 : previous.length + 1;
+    }
+
+    /**
+     * Starts expression with the number, stored in the list. The result
+     * keeps scale of notation of <tt>NumberListImpl</tt>, other lists start
+     * in the default one.
+     *
+     * @param source - first operand.
+     * @return expression holding the number of <tt>source</tt>.
+     */
+    public static NumberExpression of(NumberList source) {
+        requireOperand(source);
+        int base = source instanceof NumberListImpl ? ((NumberListImpl) source).base() : 3;
+        return new NumberExpression(null, Op.SOURCE, source, 0, base);
+    }
+
+    /**
+     * Appends remainder of division by <tt>arg</tt>, the additional
+     * operation of <tt>NumberListImpl</tt>.
+     *
+     * @param arg - divisor.
+     * @return extended expression.
+     */
+    public NumberExpression mod(NumberList arg) {
+        return then(Op.MOD, requireOperand(arg), 0, base);
+    }
+
+    /**
+     * Appends addition of <tt>arg</tt>.
+     *
+     * @param arg - addend.
+     * @return extended expression.
+     */
+    public NumberExpression add(NumberList arg) {
+        return then(Op.ADD, requireOperand(arg), 0, base);
+    }
+
+    /**
+     * Appends subtraction of <tt>arg</tt>. Evaluation fails with
+     * <tt>ArithmeticException</tt> when the difference is negative.
+     *
+     * @param arg - subtrahend.
+     * @return extended expression.
+     */
+    public NumberExpression subtract(NumberList arg) {
+        return then(Op.SUBTRACT, requireOperand(arg), 0, base);
+    }
+
+    /**
+     * Appends multiplication by <tt>arg</tt>.
+     *
+     * @param arg - multiplier.
+     * @return extended expression.
+     */
+    public NumberExpression multiply(NumberList arg) {
+        return then(Op.MULTIPLY, requireOperand(arg), 0, base);
+    }
+
+    /**
+     * Appends integer division by <tt>arg</tt>.
+     *
+     * @param arg - divisor.
+     * @return extended expression.
+     */
+    public NumberExpression divide(NumberList arg) {
+        return then(Op.DIVIDE, requireOperand(arg), 0, base);
+    }
+
+    /**
+     * Appends conversion into scale of notation, defined by personal test
+     * assignment, as <tt>NumberListImpl.changeScale</tt> does.
+     *
+     * @return extended expression.
+     */
+    public NumberExpression changeScale() {
+        return changeScale(8);
+    }
+
+    /**
+     * Appends conversion into specified scale of notation. Only the result
+     * scale matters for evaluation, so consecutive conversions cost nothing.
+     *
+     * @param base - scale of notation, from 2 to 16.
+     * @return extended expression.
+     */
+    public NumberExpression changeScale(int base) {
+        if (base < 2 || base > 16) {
+            throw new IllegalArgumentException("Unsupported base " + base);
+        }
+        return then(Op.SCALE, null, base, base);
+    }
+
+    /**
+     * Appends positional shift by <tt>digits</tt> towards the most
+     * significant end in the current scale of notation, i.e. appends
+     * <tt>digits</tt> zeros. Unlike <tt>NumberList.shiftLeft</tt>, the
+     * shift is not cyclic.
+     *
+     * @param digits - number of positions, non-negative.
+     * @return extended expression.
+     */
+    public NumberExpression shiftLeft(int digits) {
+        return then(Op.SHIFT_LEFT, null, requireDigits(digits), base);
+    }
+
+    /**
+     * Appends positional shift by <tt>digits</tt> towards the least
+     * significant end in the current scale of notation, i.e. drops
+     * <tt>digits</tt> lowest digits. Unlike <tt>NumberList.shiftRight</tt>,
+     * the shift is not cyclic.
+     *
+     * @param digits - number of positions, non-negative.
+     * @return extended expression.
+     */
+    public NumberExpression shiftRight(int digits) {
+        return then(Op.SHIFT_RIGHT, null, requireDigits(digits), base);
+    }
+
+    /**
+     * Returns scale of notation of the result.
+     *
+     * @return scale of notation.
+     */
+    public int base() {
+        return base;
+    }
+
+    /**
+     * Evaluates the expression and returns the result as new list.
+     *
+     * @return <tt>NumberListImpl</tt> in scale of notation {@link #base()}.
+     */
+    public NumberListImpl evaluate() {
+        return NumberListImpl.fromBigInteger(toBigInteger(), base);
+    }
+
+    /**
+     * Evaluates the expression without building its digits.
+     *
+     * @return string representation of the result in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return RadixConversion.toDecimalString(toBigInteger());
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @return the result.
+     */
+    public BigInteger toBigInteger() {
+        NumberExpression[] steps = new NumberExpression[length];
+        for (NumberExpression e = this; e != null; e = e.previous) {
+            steps[e.length - 1] = e;
+        }
+        BigInteger value = NumberListImpl.bigIntegerOf(steps[0].operand);
+        int base = steps[0].base;
+        for (int i = 1; i < steps.length; ++i) {
+            NumberExpression step = steps[i];
+            value = step.apply(value, base);
+            base = step.base;
+        }
+        return value;
+    }
+
+    private BigInteger apply(BigInteger value, int base) {
+        switch (op) {
+            case MOD:
+                return value.mod(divisor("mod"));
+            case ADD:
+                return value.add(NumberListImpl.bigIntegerOf(operand));
+            case SUBTRACT:
+                BigInteger res = value.subtract(NumberListImpl.bigIntegerOf(operand));
+                if (res.signum() < 0) {
+                    throw new ArithmeticException("Negative result of subtract");
+                }
+                return res;
+            case MULTIPLY:
+                return value.multiply(NumberListImpl.bigIntegerOf(operand));
+            case DIVIDE:
+                return value.divide(divisor("divide"));
+            case SCALE:
+                return value;
+            case SHIFT_LEFT:
+                return Integer.bitCount(base) == 1
+                        ? value.shiftLeft(amount * Integer.numberOfTrailingZeros(base))
+                        : value.multiply(BigInteger.valueOf(base).pow(amount));
+            case SHIFT_RIGHT:
+                return Integer.bitCount(base) == 1
+                        ? value.shiftRight(amount * Integer.numberOfTrailingZeros(base))
+                        : value.divide(BigInteger.valueOf(base).pow(amount));
+            default:
+                throw new IllegalStateException(op.toString());
+        }
+    }
+
+    private BigInteger divisor(String name) {
+        BigInteger d = NumberListImpl.bigIntegerOf(operand);
+        if (d.signum() == 0) {
+            throw new ArithmeticException("Division by zero in " + name);
+        }
+        return d;
+    }
+
+    private NumberExpression then(Op op, NumberList operand, int amount, int base) {
+        return new NumberExpression(this, op, operand, amount, base);
+    }
+
+    private static NumberList requireOperand(NumberList arg) {
+        if (arg == null) {
+            throw new IllegalArgumentException("arg is null");
+        }
+        return arg;
+    }
+
+    private static int requireDigits(int digits) {
+        if (digits < 0) {
+            throw new IllegalArgumentException("Negative shift " + digits);
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for expensive <tt>NumberListImpl</tt>
+ * operations. Events are enabled by name in a JFR configuration, e.g.
+ * <tt>ua.kpi.comsys.NumberList.ChangeScale#enabled=true</tt>, and are
+ * disabled by default.<p>
+ *
+ * Instrumented code follows the usual pattern: event is created and
+ * started before the operation, and its fields are filled only after
+ * <tt>shouldCommit()</tt> returned true. When recording is off, the
+ * event normally does not escape and costs a single check, but escape
+ * analysis is not guaranteed, so <tt>changeScale</tt> and
+ * <tt>additionalOperation</tt> of numbers below 2<sup>63</sup>, which
+ * must not allocate, record no events.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class NumberListEvents {
+
+    static final String PREFIX = "ua.kpi.comsys.NumberList.";
+
+    private NumberListEvents() {
+    }
+
+    @Name(PREFIX + "Parse")
+    @Label("Parse Number")
+    @Description("Construction of a list from a decimal string")
+    @Category({"NumberList"})
+    @StackTrace(false)
+    static final class Parse extends Event {
+        @Label("Decimal Digits")
+        int decimalDigits;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Bytes")
+        @Description("Size of the binary magnitude of the number")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name(PREFIX + "ChangeScale")
+    @Label("Change Scale")
+    @Category({"NumberList"})
+    @StackTrace(false)
+    static final class ChangeScale extends Event {
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Result Digits")
+        int resultDigits;
+
+        @Label("Result Base")
+        int resultBase;
+
+        @Label("Bytes")
+        @Description("Size of the binary magnitude of the number")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name(PREFIX + "AdditionalOperation")
+    @Label("Additional Operation")
+    @Category({"NumberList"})
+    @StackTrace(false)
+    static final class AdditionalOperation extends Event {
+        @Label("Digits")
+        int digits;
+
+        @Label("Argument Digits")
+        int argumentDigits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Result Digits")
+        int resultDigits;
+
+        @Label("Bytes")
+        @Description("Size of the binary magnitudes of both operands")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name(PREFIX + "FileIO")
+    @Label("File I/O")
+    @Description("Loading a list from a file or saving it")
+    @Category({"NumberList"})
+    static final class FileIO extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Path")
+        String path;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name(PREFIX + "Sort")
+    @Label("Sort Digits")
+    @Category({"NumberList"})
+    @StackTrace(false)
+    static final class Sort extends Event {
+        @Label("Ascending")
+        boolean ascending;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+    }
+
+    @Name(PREFIX + "Bulk")
+    @Label("Bulk Operation")
+    @Description("Operation with a whole collection or array of digits")
+    @Category({"NumberList"})
+    @StackTrace(false)
+    static final class Bulk extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Elements")
+        @Description("Number of elements in the argument collection or array")
+        int elements;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -8,16 +8,28 @@
 package ua.kpi.comsys.test2.implementation;
 
 import java.io.BufferedReader;
+import java.io.Externalizable;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.lang.ref.SoftReference;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
 
 import ua.kpi.comsys.test2.NumberList;
+import ua.kpi.comsys.test2.implementation.NumberListMetrics.Operation;
 
 /**
  * Custom implementation of INumberList interface.
@@ -29,7 +41,27 @@ import ua.kpi.comsys.test2.NumberList;
  * @group IM-33
  * @recordBook 8971
  */
-public class NumberListImpl implements NumberList {
+public class NumberListImpl implements NumberList, Comparable<NumberListImpl>, Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Version of the serialized form written by <tt>writeExternal</tt>.
+     */
+    private static final byte EXTERNAL_VERSION = 1;
+
+    /**
+     * Largest size accepted by <tt>readExternal</tt>: the longest array
+     * the JVM can allocate.
+     */
+    private static final int MAX_EXTERNAL_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Packed digits are read in pieces starting at this many bytes, so a
+     * forged size fails at the end of the stream instead of allocating
+     * the claimed amount up front.
+     */
+    private static final int EXTERNAL_CHUNK = 1 << 16;
 
     /**
      * Internal node for circular singly linked list.
@@ -45,15 +77,120 @@ public class NumberListImpl implements NumberList {
         }
     }
 
-    private Node head;      
+    /**
+     * Per-thread free list of nodes, used when node pooling is enabled.
+     * Nodes are chained through <tt>next</tt>; the chain ends with null.
+     */
+    private static final class NodePool {
+        static final int MAX_NODES = 1 << 16;
+
+        Node free;
+        int count;
+    }
+
+    private static final ThreadLocal<NodePool> POOL = ThreadLocal.withInitial(NodePool::new);
+
+    private static volatile boolean pooling;
+
+    private static final ThreadLocal<int[]> SORT_COUNTS = ThreadLocal.withInitial(() -> new int[16]);
+
+    /**
+     * Per-thread buffer for temporary digits of conversions, grown on
+     * demand up to <tt>SCRATCH_LIMIT</tt> bytes.
+     */
+    private static final int SCRATCH_LIMIT = 1 << 20;
+    private static final ThreadLocal<byte[][]> SCRATCH = ThreadLocal.withInitial(() -> new byte[][] {new byte[64]});
+
+    private transient Node head;
+
+    /**
+     * Last node of the ring, <tt>tail.next == head</tt>. Null together
+     * with <tt>head</tt>.
+     */
+    private transient Node tail;
     private int size;
     private int base = 3;   
 
+    /**
+     * Number of modifications of the list. Every mutator increments it,
+     * which invalidates all values cached for the previous content.
+     */
+    private int modCount;
+
+    /**
+     * Cached hash code in low 32 bits and <tt>modCount</tt> it was computed
+     * for in high 32 bits. Single field, so concurrent readers never see
+     * a hash paired with wrong <tt>modCount</tt>.
+     */
+    private volatile long hashCache = -1L << 32;
+
+    /**
+     * Cached number of significant digits (without leading zeros), packed
+     * with <tt>modCount</tt> the same way as <tt>hashCache</tt>.
+     */
+    private volatile long significantCache = -1L << 32;
+
+    /**
+     * Memoized result of <tt>toString</tt> or <tt>toDecimalString</tt>
+     * together with <tt>modCount</tt> it was rendered for. Immutable, so it
+     * is replaced as a whole. Long renderings are held softly and may be
+     * reclaimed under memory pressure.
+     */
+    private static final class Rendering {
+        static final int SOFT_THRESHOLD = 4096;
+
+        final int modCount;
+        final String strong;
+        final SoftReference<String> soft;
+
+        Rendering(int modCount, String value) {
+            this.modCount = modCount;
+            boolean large = value.length() > SOFT_THRESHOLD;
+            this.strong = large ? null : value;
+            this.soft = large ? new SoftReference<>(value) : null;
+        }
+
+        String get(int currentModCount) {
+            if (modCount != currentModCount) return null;
+            return strong != null ? strong : soft.get();
+        }
+    }
+
+    private transient volatile Rendering stringCache;
+    private transient volatile Rendering decimalCache;
+
+    /**
+     * Set for canonical instances returned by <tt>valueOf</tt>, which
+     * reject every modification.
+     */
+    private boolean frozen;
+
+    /**
+     * Small-number representation. While <tt>inflated</tt> is false, no
+     * nodes exist and the list holds <tt>compact</tt> written with
+     * <tt>size</tt> digits (padded by leading zeros). Reads are served from
+     * <tt>compact</tt> directly, so concurrent readers never see nodes being
+     * built; nodes are created by the first modification which needs them.
+     * Value stays usable as a shadow of the nodes while
+     * <tt>compactModCount</tt> equals <tt>modCount</tt>.
+     */
+    private long compact;
+    private int compactModCount = -1;
+    private boolean inflated = true;
+
+    /**
+     * Canonical instances for values below <tt>CACHE_HIGH</tt>, created
+     * on first request.
+     */
+    private static final int CACHE_HIGH = 1024;
+    private static final AtomicReferenceArray<NumberListImpl> CACHE = new AtomicReferenceArray<>(CACHE_HIGH);
+
     /**
      * Default constructor. Returns empty <tt>NumberListImpl</tt>
      */
     public NumberListImpl() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
         this.base = 3;
     }
@@ -70,6 +207,8 @@ public class NumberListImpl implements NumberList {
         if (file == null) {
             throw new IllegalArgumentException("file is null");
         }
+        NumberListEvents.FileIO event = new NumberListEvents.FileIO();
+        event.begin();
         StringBuilder sb = new StringBuilder();
         try (BufferedReader br = new BufferedReader(new FileReader(file))) {
             String line;
@@ -83,6 +222,7 @@ public class NumberListImpl implements NumberList {
         if (content.length() > 0) {
             initFromDecimalString(content);
         }
+        commitFileIO(event, "load", file, file.length());
     }
 
 
@@ -103,32 +243,414 @@ public class NumberListImpl implements NumberList {
         }
     }
 
+    /**
+     * Enables or disables node pooling for all lists.<p>
+     *
+     * When enabled, nodes dropped by <tt>clear</tt> and <tt>remove</tt> are
+     * kept in a free list of the current thread (up to 65536 nodes) and
+     * reused by later insertions, so steady-state workloads that build and
+     * discard lists stop allocating. Lists must not be used after
+     * <tt>clear</tt> through iterators obtained before it.
+     *
+     * @param enabled - whether nodes have to be recycled.
+     */
+    public static void setNodePooling(boolean enabled) {
+        pooling = enabled;
+    }
+
+    /**
+     * Returns whether node pooling is enabled.
+     *
+     * @return <tt>true</tt> when nodes are recycled.
+     */
+    public static boolean isNodePooling() {
+        return pooling;
+    }
+
+    /**
+     * Sets number of digits from which conversions between scales of
+     * notation (<tt>toDecimalString</tt>, <tt>changeScale</tt>, the
+     * <tt>String</tt> and <tt>File</tt> constructors) run in parallel, in
+     * the common fork/join pool. Parts of the number shorter than the
+     * threshold are converted sequentially by a single task, so it is also
+     * the granularity of the parallel work.<p>
+     *
+     * By default the threshold is 65536 digits on machines with more than
+     * one processor; otherwise conversions are sequential.
+     *
+     * @param digits - positive number of digits; <tt>Integer.MAX_VALUE</tt>
+     *                 disables parallel conversion.
+     */
+    public static void setParallelConversionThreshold(int digits) {
+        RadixConversion.setParallelThreshold(digits);
+    }
+
+    /**
+     * Returns number of digits from which conversions run in parallel.
+     *
+     * @return parallel conversion threshold.
+     */
+    public static int getParallelConversionThreshold() {
+        return RadixConversion.parallelThreshold();
+    }
+
+    /**
+     * Returns number of nodes in the free list of the current thread.
+     */
+    static int pooledNodes() {
+        return POOL.get().count;
+    }
+
+    private static Node newNode(byte value) {
+        if (pooling) {
+            NodePool pool = POOL.get();
+            Node n = pool.free;
+            if (n != null) {
+                pool.free = n.next;
+                pool.count--;
+                n.value = value;
+                n.next = n;
+                return n;
+            }
+        }
+        NumberListMetrics.allocated();
+        return new Node(value);
+    }
+
+    private static void recycle(Node n) {
+        if (!pooling) return;
+        NodePool pool = POOL.get();
+        if (pool.count >= NodePool.MAX_NODES) return;
+        n.next = pool.free;
+        pool.free = n;
+        pool.count++;
+    }
+
+    /**
+     * Moves whole ring of <tt>count</tt> nodes into the free list in O(1):
+     * ring is cut after its first node, so the chain runs through all
+     * nodes and ends at the old free list.
+     */
+    private static void recycleRing(Node first, int count) {
+        if (!pooling || first == null) return;
+        NodePool pool = POOL.get();
+        if (pool.count + count > NodePool.MAX_NODES) return;
+        Node second = first.next;
+        first.next = pool.free;
+        pool.free = second;
+        pool.count += count;
+    }
+
+    /**
+     * Constructs new <tt>NumberListImpl</tt> from digits in specified scale
+     * of notation, the most significant first. All digits are validated
+     * before the first node is linked (see {@link DigitKernels}).
+     *
+     * @param digits - digits of the number.
+     * @param base - scale of notation, from 2 to 16.
+     */
+    public NumberListImpl(byte[] digits, int base) {
+        this();
+        if (digits == null) {
+            throw new IllegalArgumentException("digits is null");
+        }
+        if (base < 2 || base > 16) {
+            throw new IllegalArgumentException("Unsupported base " + base);
+        }
+        this.base = base;
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
+        if (DigitKernels.firstInvalid(digits, 0, digits.length, base) >= 0) {
+            throw new IllegalArgumentException("Digit out of range for base " + base);
+        }
+        Node last = null;
+        for (byte d : digits) {
+            last = linkAfter(last, d);
+        }
+        size = digits.length;
+        commitBulk(event, "import", digits.length, digits.length);
+    }
+
+    /**
+     * Returns unmodifiable <tt>NumberListImpl</tt> holding specified value.
+     * Small values are served from a cache of canonical instances. Any
+     * attempt to modify returned list throws
+     * <tt>UnsupportedOperationException</tt>.
+     *
+     * @param value - non-negative number.
+     * @return unmodifiable <tt>NumberListImpl</tt>.
+     */
+    public static NumberListImpl valueOf(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        if (value >= CACHE_HIGH) {
+            return frozenOf(value);
+        }
+        int i = (int) value;
+        NumberListImpl res = CACHE.get(i);
+        if (res == null) {
+            res = frozenOf(value);
+            if (!CACHE.compareAndSet(i, null, res)) {
+                res = CACHE.get(i);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns unmodifiable <tt>NumberListImpl</tt> by <b>decimal</b> number
+     * in string notation. Values that fit into <tt>long</tt> are parsed
+     * without <tt>BigInteger</tt>, small ones are served from a cache of
+     * canonical instances.
+     *
+     * @param value - number in string notation.
+     * @return unmodifiable <tt>NumberListImpl</tt>.
+     * @throws NumberFormatException if string is not a non-negative
+     *         decimal number.
+     */
+    public static NumberListImpl valueOf(String value) {
+        if (value == null) {
+            throw new NumberFormatException("null");
+        }
+        String s = value.trim();
+        if (s.startsWith("+")) {
+            s = s.substring(1);
+        }
+        long v = parseSmall(s);
+        if (v >= 0) {
+            return valueOf(v);
+        }
+        NumberListImpl res = new NumberListImpl();
+        res.initFromDecimalString(s);
+        res.frozen = true;
+        return res;
+    }
+
+    private static NumberListImpl frozenOf(long value) {
+        NumberListImpl res = new NumberListImpl();
+        res.initFromLong(value);
+        // shared instances must never build their nodes lazily
+        res.inflate();
+        res.frozen = true;
+        return res;
+    }
+
+    /**
+     * Parses up to 18 ASCII decimal digits, which always fit into
+     * <tt>long</tt>. Returns -1 for anything else.
+     */
+    private static long parseSmall(String s) {
+        int n = s.length();
+        if (n == 0 || n > 18) {
+            return -1;
+        }
+        long v = 0;
+        for (int i = 0; i < n; ++i) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
     private void initFromDecimalString(String decimalStr) {
+        NumberListEvents.Parse event = new NumberListEvents.Parse();
+        event.begin();
         if (decimalStr.startsWith("+")) {
             decimalStr = decimalStr.substring(1);
         }
-        for (char c : decimalStr.toCharArray()) {
-            if (!Character.isDigit(c)) {
-                throw new NumberFormatException("Invalid decimal string: " + decimalStr);
-            }
+        long small = parseSmall(decimalStr);
+        if (small >= 0) {
+            initFromLong(small);
+        } else {
+            BigInteger val = RadixConversion.parseDecimal(decimalStr);
+            NumberListMetrics.conversion(decimalStr.length());
+            initFromBigInteger(val);
+        }
+        if (event.shouldCommit()) {
+            event.decimalDigits = decimalStr.length();
+            event.digits = size;
+            event.base = base;
+            event.bytes = magnitudeBytes();
+            event.commit();
+        }
+    }
+
+    /**
+     * Appends digits of non-negative <tt>val</tt> in the current scale of
+     * notation. Zero is stored as single digit.
+     */
+    private void initFromBigInteger(BigInteger val) {
+        if (val.bitLength() < 64) {
+            initFromLong(val.longValue());
+            return;
+        }
+        byte[] digits = new byte[RadixConversion.digitsFor(val.bitLength(), base)];
+        RadixConversion.toDigits(val, base, digits, 0, digits.length);
+        NumberListMetrics.conversion(digits.length);
+        int pos = 0;
+        while (digits[pos] == 0) pos++;
+        appendDigits(digits, pos, digits.length);
+    }
+
+    /**
+     * Appends already validated digits <tt>digits[from..to)</tt>, linking
+     * nodes directly after the current tail.
+     */
+    private void appendDigits(byte[] digits, int from, int to) {
+        inflate();
+        Node last = tail;
+        for (int i = from; i < to; ++i) {
+            last = linkAfter(last, digits[i]);
         }
-        BigInteger val = new BigInteger(decimalStr);
-        if (val.compareTo(BigInteger.ZERO) == 0) {
-            add((byte) 0);
+        size += to - from;
+        modCount++;
+    }
+
+    /**
+     * Appends digits of non-negative <tt>val</tt> using only primitive
+     * arithmetic. 64 positions are enough for any base.
+     */
+    private void initFromLong(long val) {
+        if (size == 0) {
+            int n = 0;
+            for (long v = val; n == 0 || v > 0; v /= base) n++;
+            head = null;
+            tail = null;
+            inflated = false;
+            compact = val;
+            size = n;
+            compactModCount = ++modCount;
+            return;
+        }
+        byte[] digits = new byte[64];
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) (val % base);
+            val /= base;
+        } while (val > 0);
+        appendDigits(digits, pos, digits.length);
+    }
+
+    /**
+     * Replaces content with non-negative <tt>val</tt> in scale of notation
+     * <tt>newBase</tt>. A list without nodes takes the small-number
+     * representation; otherwise nodes are overwritten and the value is
+     * kept as their shadow.
+     */
+    private void assignLong(long val, int newBase) {
+        base = newBase;
+        if (!inflated || size == 0) {
+            size = 0;
+            initFromLong(val);
+            return;
+        }
+        byte[] digits = scratch(64);
+        int pos = 64;
+        long v = val;
+        do {
+            digits[--pos] = (byte) (v % base);
+            v /= base;
+        } while (v > 0);
+        assignDigits(digits, pos, 64);
+        compact = val;
+        compactModCount = modCount;
+    }
+
+    /**
+     * Replaces content with non-negative <tt>val</tt> in scale of notation
+     * <tt>newBase</tt>, reusing nodes.
+     */
+    private void assignBigInteger(BigInteger val, int newBase) {
+        if (val.bitLength() < 64) {
+            assignLong(val.longValue(), newBase);
             return;
         }
+        base = newBase;
+        int n = RadixConversion.digitsFor(val.bitLength(), base);
+        byte[] digits = scratch(n);
+        RadixConversion.toDigits(val, base, digits, 0, n);
+        NumberListMetrics.conversion(n);
+        int pos = 0;
+        while (digits[pos] == 0) pos++;
+        if (!inflated) {
+            head = null;
+            tail = null;
+            size = 0;
+            inflated = true;
+        }
+        assignDigits(digits, pos, n);
+    }
 
-        java.util.ArrayList<Byte> digits = new java.util.ArrayList<>();
-        BigInteger bBase = BigInteger.valueOf(base);
-        while (val.compareTo(BigInteger.ZERO) > 0) {
-            BigInteger[] dr = val.divideAndRemainder(bBase);
-            val = dr[0];
-            byte digit = dr[1].byteValue();
-            digits.add(digit);
+    /**
+     * Replaces content of an inflated list with digits
+     * <tt>digits[from..to)</tt>. Existing nodes get new values, surplus
+     * nodes are unlinked and missing ones are linked after the tail.
+     */
+    private void assignDigits(byte[] digits, int from, int to) {
+        int n = to - from;
+        int common = Math.min(size, n);
+        Node cur = head;
+        Node last = null;
+        for (int i = 0; i < common; ++i) {
+            cur.value = digits[from + i];
+            last = cur;
+            cur = cur.next;
         }
-        for (int i = digits.size() - 1; i >= 0; --i) {
-            add(digits.get(i));
+        NumberListMetrics.hops(Operation.TRAVERSE, common);
+        if (n < size) {
+            int count = size - n;
+            NumberListMetrics.unlinked(count);
+            if (last == null) {
+                recycleRing(head, count);
+                head = null;
+                tail = null;
+            } else {
+                Node rest = last.next;
+                tail.next = rest;
+                recycleRing(rest, count);
+                last.next = head;
+                tail = last;
+            }
+        } else {
+            last = tail;
+            for (int i = from + common; i < to; ++i) {
+                last = linkAfter(last, digits[i]);
+            }
         }
+        size = n;
+        modCount++;
+    }
+
+    /**
+     * Returns per-thread buffer of at least <tt>n</tt> bytes. Buffers above
+     * <tt>SCRATCH_LIMIT</tt> are not retained.
+     */
+    private static byte[] scratch(int n) {
+        if (n > SCRATCH_LIMIT) {
+            return new byte[n];
+        }
+        byte[][] holder = SCRATCH.get();
+        byte[] buf = holder[0];
+        if (buf.length < n) {
+            buf = new byte[Math.min(SCRATCH_LIMIT, Math.max(n, buf.length * 2))];
+            holder[0] = buf;
+        }
+        return buf;
+    }
+
+    /**
+     * Returns new list holding non-negative <tt>value</tt> in specified
+     * scale of notation.
+     */
+    static NumberListImpl fromBigInteger(BigInteger value, int base) {
+        NumberListImpl res = new NumberListImpl();
+        res.base = base;
+        res.initFromBigInteger(value);
+        return res;
     }
 
     /**
@@ -141,6 +663,8 @@ public class NumberListImpl implements NumberList {
         if (file == null) {
             throw new IllegalArgumentException("file is null");
         }
+        NumberListEvents.FileIO event = new NumberListEvents.FileIO();
+        event.begin();
         String s = toDecimalString();
         try (java.io.FileWriter fw = new java.io.FileWriter(file)) {
             fw.write(s);
@@ -148,6 +672,124 @@ public class NumberListImpl implements NumberList {
         } catch (IOException e) {
             throw new RuntimeException("Cannot write to file", e);
         }
+        commitFileIO(event, "save", file, s.length());
+    }
+
+    /**
+     * Writes the list in compact binary form: version byte, scale of
+     * notation byte, digit count as <tt>int</tt> and all digits, leading
+     * zeros included, packed most significant first at the minimal bit
+     * width of the scale (2 bits for ternary, 3 for octal digits). Takes
+     * linear time.
+     *
+     * @param out - stream to write to.
+     * @throws IOException if the stream fails.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        int bits = bitsPerDigit(base);
+        byte[] digits = scratch(size);
+        writeDigits(digits, 0);
+        byte[] packed = new byte[(int) (((long) size * bits + 7) >>> 3)];
+        int acc = 0;
+        int filled = 0;
+        int pos = 0;
+        for (int i = 0; i < size; ++i) {
+            acc = (acc << bits) | digits[i];
+            filled += bits;
+            if (filled >= 8) {
+                filled -= 8;
+                packed[pos++] = (byte) (acc >>> filled);
+            }
+        }
+        if (filled > 0) {
+            packed[pos] = (byte) (acc << (8 - filled));
+        }
+        out.writeByte(EXTERNAL_VERSION);
+        out.writeByte(base);
+        out.writeInt(size);
+        out.write(packed);
+    }
+
+
+    /**
+     * Replaces content of the list with one written by
+     * {@link #writeExternal(ObjectOutput)}. Digits are unpacked and
+     * validated before the list is changed. Deserialized lists are always
+     * modifiable.
+     *
+     * @param in - stream to read from.
+     * @throws IOException if the stream fails or holds malformed data.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        checkMutable();
+        int version = in.readByte();
+        if (version != EXTERNAL_VERSION) {
+            throw new InvalidObjectException("Unsupported version " + version);
+        }
+        int newBase = in.readByte();
+        int n = in.readInt();
+        if (newBase < 2 || newBase > 16) {
+            throw new InvalidObjectException("Unsupported base " + newBase);
+        }
+        if (n < 0) {
+            throw new InvalidObjectException("Negative size " + n);
+        }
+        if (n > MAX_EXTERNAL_SIZE) {
+            throw new InvalidObjectException("Size " + n + " is too large");
+        }
+        int bits = bitsPerDigit(newBase);
+        byte[] packed = readPacked(in, (int) (((long) n * bits + 7) >>> 3));
+        byte[] digits = new byte[n];
+        int mask = (1 << bits) - 1;
+        int acc = 0;
+        int filled = 0;
+        int pos = 0;
+        for (int i = 0; i < n; ++i) {
+            if (filled < bits) {
+                acc = (acc << 8) | (packed[pos++] & 0xFF);
+                filled += 8;
+            }
+            filled -= bits;
+            digits[i] = (byte) ((acc >>> filled) & mask);
+        }
+        if (DigitKernels.firstInvalid(digits, 0, n, newBase) >= 0) {
+            throw new InvalidObjectException("Digit out of range for base " + newBase);
+        }
+        clear();
+        base = newBase;
+        appendDigits(digits, 0, n);
+    }
+
+    /**
+     * Reads <tt>len</tt> bytes, growing the buffer geometrically as they
+     * arrive.
+     */
+    private static byte[] readPacked(ObjectInput in, int len) throws IOException {
+        byte[] buf = new byte[Math.min(len, EXTERNAL_CHUNK)];
+        in.readFully(buf);
+        while (buf.length < len) {
+            int pos = buf.length;
+            buf = Arrays.copyOf(buf, (int) Math.min(len, 2L * pos));
+            in.readFully(buf, pos, buf.length - pos);
+        }
+        return buf;
+    }
+
+    private static int bitsPerDigit(int base) {
+        return 32 - Integer.numberOfLeadingZeros(base - 1);
+    }
+
+    private void commitFileIO(NumberListEvents.FileIO event, String operation, File file, long bytes) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = file.getPath();
+            event.digits = size;
+            event.base = base;
+            event.bytes = bytes;
+            event.commit();
+        }
     }
 
 
@@ -170,22 +812,47 @@ public class NumberListImpl implements NumberList {
      * @return <tt>NumberListImpl</tt> in other scale of notation.
      */
     public NumberListImpl changeScale() {
-        BigInteger value = toBigInteger();
-        NumberListImpl res = new NumberListImpl();
-        res.base = 8;
-        if (value.compareTo(BigInteger.ZERO) == 0) {
-            res.add((byte) 0);
-            return res;
+        return changeScale(new NumberListImpl());
+    }
+
+
+    /**
+     * Writes the number, stored in this list, into <tt>dest</tt> in other
+     * scale of notation, defined by personal test assignment. Previous
+     * content of <tt>dest</tt> is replaced.<p>
+     *
+     * Nodes of <tt>dest</tt> are overwritten in place; only the difference
+     * in length is linked or unlinked, through the node pool when it is
+     * enabled. Temporary digits are kept in a per-thread buffer, so a loop
+     * over numbers below 2<sup>63</sup> with a reused <tt>dest</tt> and
+     * node pooling creates no garbage. <tt>dest</tt> may be this list.
+     *
+     * @param dest - list receiving the result.
+     * @return <tt>dest</tt>.
+     */
+    public NumberListImpl changeScale(NumberListImpl dest) {
+        if (dest == null) {
+            throw new IllegalArgumentException("dest is null");
         }
-        BigInteger b8 = BigInteger.valueOf(8);
-        java.util.ArrayList<Byte> digits = new java.util.ArrayList<>();
-        while (value.compareTo(BigInteger.ZERO) > 0) {
-            BigInteger[] dr = value.divideAndRemainder(b8);
-            value = dr[0];
-            digits.add((byte) dr[1].intValue());
+        dest.checkMutable();
+        if (hasCompact()) {
+            // cheap enough to go without an event, so nothing is allocated
+            dest.assignLong(compact, 8);
+            return dest;
         }
-        for (int i = digits.size() - 1; i >= 0; --i) {
-            res.add(digits.get(i));
+        NumberListEvents.ChangeScale event = new NumberListEvents.ChangeScale();
+        event.begin();
+        int digits = size;
+        int digitsBase = base;
+        dest.assignBigInteger(toBigInteger(), 8);
+        NumberListImpl res = dest;
+        if (event.shouldCommit()) {
+            event.digits = digits;
+            event.base = digitsBase;
+            event.resultDigits = res.size;
+            event.resultBase = res.base;
+            event.bytes = magnitudeBytes(digits, digitsBase);
+            event.commit();
         }
         return res;
     }
@@ -202,107 +869,586 @@ public class NumberListImpl implements NumberList {
      * @return result of additional operation.
      */
     public NumberListImpl additionalOperation(NumberList arg) {
+        return additionalOperation(arg, new NumberListImpl());
+    }
+
+
+    /**
+     * Writes the result of additional operation, defined by personal test
+     * assignment, into <tt>dest</tt> in the scale of notation of this
+     * list. Previous content of <tt>dest</tt> is replaced, its nodes are
+     * reused as described in {@link #changeScale(NumberListImpl)}.
+     * <tt>dest</tt> may be this list or <tt>arg</tt>.
+     *
+     * @param arg - second argument of additional operation
+     * @param dest - list receiving the result.
+     * @return <tt>dest</tt>.
+     */
+    public NumberListImpl additionalOperation(NumberList arg, NumberListImpl dest) {
         if (arg == null) {
             throw new IllegalArgumentException("arg is null");
         }
+        if (dest == null) {
+            throw new IllegalArgumentException("dest is null");
+        }
+        dest.checkMutable();
+        if (hasCompact() && arg instanceof NumberListImpl && ((NumberListImpl) arg).hasCompact()) {
+            // cheap enough to go without an event, so nothing is allocated
+            long b = ((NumberListImpl) arg).compact;
+            if (b == 0) {
+                throw new ArithmeticException("Division by zero in additionalOperation");
+            }
+            dest.assignLong(compact % b, base);
+            return dest;
+        }
+        NumberListEvents.AdditionalOperation event = new NumberListEvents.AdditionalOperation();
+        event.begin();
+        int digits = size;
+        int argumentDigits = arg.size();
+        int digitsBase = base;
+        int argumentBase = arg instanceof NumberListImpl ? ((NumberListImpl) arg).base : 10;
+        mod(arg, dest);
+        if (event.shouldCommit()) {
+            event.digits = digits;
+            event.argumentDigits = argumentDigits;
+            event.base = digitsBase;
+            event.resultDigits = dest.size;
+            event.bytes = magnitudeBytes(digits, digitsBase) + magnitudeBytes(argumentDigits, argumentBase);
+            event.commit();
+        }
+        return dest;
+    }
+
+    private void mod(NumberList arg, NumberListImpl dest) {
         BigInteger a = this.toBigInteger();
-        BigInteger b;
-        int argBase = 3;
+        BigInteger b = bigIntegerOf(arg);
+        if (b.equals(BigInteger.ZERO)) {
+            throw new ArithmeticException("Division by zero in additionalOperation");
+        }
+        dest.assignBigInteger(a.mod(b), base);
+    }
+
+    /**
+     * Returns value of <tt>arg</tt>. Lists other than
+     * <tt>NumberListImpl</tt> are read as decimal digits.
+     */
+    static BigInteger bigIntegerOf(NumberList arg) {
+        if (arg instanceof NumberListImpl) {
+            return ((NumberListImpl) arg).toBigInteger();
+        }
+        BigInteger res = BigInteger.ZERO;
+        for (Byte d : arg) {
+            res = res.multiply(BigInteger.TEN).add(BigInteger.valueOf(d));
+        }
+        return res;
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding bitwise AND of numbers,
+     * stored in this list and in <tt>arg</tt>, in the scale of notation
+     * of this list.<p>
+     *
+     * Operands are processed 64 bits at a time. Lists in power-of-two
+     * scales of notation are packed into and unpacked from binary form
+     * directly, in linear time. Does not impact the operands.
+     *
+     * @param arg - second operand.
+     * @return result of bitwise AND.
+     */
+    public NumberListImpl and(NumberList arg) {
+        return bitwise(arg, Limbs::and);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding bitwise OR of numbers,
+     * stored in this list and in <tt>arg</tt>, in the scale of notation
+     * of this list. See {@link #and(NumberList)}.
+     *
+     * @param arg - second operand.
+     * @return result of bitwise OR.
+     */
+    public NumberListImpl or(NumberList arg) {
+        return bitwise(arg, Limbs::or);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding bitwise XOR of numbers,
+     * stored in this list and in <tt>arg</tt>, in the scale of notation
+     * of this list. See {@link #and(NumberList)}.
+     *
+     * @param arg - second operand.
+     * @return result of bitwise XOR.
+     */
+    public NumberListImpl xor(NumberList arg) {
+        return bitwise(arg, Limbs::xor);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding bits of this number
+     * which are clear in <tt>arg</tt> (<tt>this &amp; ~arg</tt>), in the
+     * scale of notation of this list. See {@link #and(NumberList)}.
+     *
+     * @param arg - mask of bits to clear.
+     * @return result of bitwise AND-NOT.
+     */
+    public NumberListImpl andNot(NumberList arg) {
+        return bitwise(arg, Limbs::andNot);
+    }
+
+    private NumberListImpl bitwise(NumberList arg, BinaryOperator<long[]> op) {
+        if (arg == null) {
+            throw new IllegalArgumentException("arg is null");
+        }
+        long[] b;
+        if (arg instanceof NumberListImpl) {
+            NumberListImpl other = (NumberListImpl) arg;
+            if (hasCompact() && other.hasCompact()) {
+                long[] res = op.apply(new long[] {compact}, new long[] {other.compact});
+                NumberListImpl list = new NumberListImpl();
+                list.base = base;
+                list.initFromLong(res.length == 0 ? 0 : res[0]);
+                return list;
+            }
+            b = other.toLimbs();
+        } else {
+            b = limbsOf(arg);
+        }
+        return fromLimbs(op.apply(toLimbs(), b), base);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding number, stored in this
+     * list, raised to the power <tt>exponent</tt> modulo <tt>modulus</tt>,
+     * in the scale of notation of this list.<p>
+     *
+     * Intermediate values never exceed twice the modulus: multiplication
+     * and reduction are fused (Montgomery form) for odd modulus, so no
+     * division is performed per step. Does not impact the operands.
+     *
+     * @param exponent - power to raise to.
+     * @param modulus - modulus, not zero.
+     * @return <tt>this<sup>exponent</sup> mod modulus</tt>.
+     */
+    public NumberListImpl modPow(NumberList exponent, NumberList modulus) {
+        if (exponent == null || modulus == null) {
+            throw new IllegalArgumentException("arg is null");
+        }
+        long[] m = limbsOf(modulus);
+        if (Limbs.length(m) == 0) {
+            throw new ArithmeticException("Division by zero in modPow");
+        }
+        return fromLimbs(NumberTheory.modPow(toLimbs(), limbsOf(exponent), m), base);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> holding greatest common divisor
+     * of numbers, stored in this list and in <tt>arg</tt>, in the scale of
+     * notation of this list. Greatest common divisor of zero and zero is
+     * zero. Does not impact the operands.
+     *
+     * @param arg - second operand.
+     * @return greatest common divisor.
+     */
+    public NumberListImpl gcd(NumberList arg) {
+        if (arg == null) {
+            throw new IllegalArgumentException("arg is null");
+        }
         if (arg instanceof NumberListImpl) {
             NumberListImpl other = (NumberListImpl) arg;
-            argBase = other.base;
-            b = other.toBigInteger();
+            if (hasCompact() && other.hasCompact()) {
+                NumberListImpl list = new NumberListImpl();
+                list.base = base;
+                list.initFromLong(gcd(compact, other.compact));
+                return list;
+            }
+        }
+        return fromLimbs(NumberTheory.gcd(toLimbs(), limbsOf(arg)), base);
+    }
+
+    private static long gcd(long a, long b) {
+        if (a == 0 || b == 0) {
+            return a | b;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    /**
+     * Returns value of <tt>arg</tt> as limbs. See {@link #bigIntegerOf}.
+     */
+    static long[] limbsOf(NumberList arg) {
+        if (arg instanceof NumberListImpl) {
+            return ((NumberListImpl) arg).toLimbs();
+        }
+        return Limbs.fromBigInteger(bigIntegerOf(arg));
+    }
+
+    /**
+     * Returns the number as little-endian 64-bit limbs.
+     */
+    long[] toLimbs() {
+        if (size == 0) {
+            return Limbs.ZERO;
+        }
+        if (hasCompact()) {
+            return new long[] {compact};
+        }
+        if (Integer.bitCount(base) != 1) {
+            return Limbs.fromBigInteger(toBigInteger());
+        }
+        byte[] digits = new byte[size];
+        writeDigits(digits, 0);
+        return Limbs.fromDigits(digits, 0, size, Integer.numberOfTrailingZeros(base));
+    }
+
+    /**
+     * Returns new list holding number given by limbs in specified scale of
+     * notation.
+     */
+    static NumberListImpl fromLimbs(long[] mag, int base) {
+        if (Integer.bitCount(base) != 1) {
+            return fromBigInteger(Limbs.toBigInteger(mag), base);
+        }
+        return fromDigits(Limbs.toDigits(mag, Integer.numberOfTrailingZeros(base)), base);
+    }
+
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return toDecimalString(true);
+    }
+
+    /**
+     * Same as <tt>toDecimalString()</tt>, but a fresh rendering is stored
+     * in the cache only when <tt>store</tt> is set. See
+     * {@link #cacheDecimalString}.
+     */
+    String toDecimalString(boolean store) {
+        int mc = modCount;
+        Rendering cached = decimalCache;
+        String res = cached == null ? null : cached.get(mc);
+        if (res == null) {
+            if (hasCompact()) {
+                res = Long.toString(compact);
+            } else {
+                res = RadixConversion.toDecimalString(toBigInteger());
+                NumberListMetrics.conversion(res.length());
+            }
+            if (store) {
+                decimalCache = new Rendering(mc, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Stores decimal rendering made for <tt>modCount</tt> <tt>mc</tt>.
+     * Callers which read the list optimistically, such as
+     * {@link ConcurrentNumberList}, render with <tt>store</tt> unset and
+     * publish the result only after the read is validated, so a rendering
+     * of a torn view never reaches the cache.
+     */
+    void cacheDecimalString(String value, int mc) {
+        Rendering cached = decimalCache;
+        if (cached == null || cached.get(mc) == null) {
+            decimalCache = new Rendering(mc, value);
+        }
+    }
+
+    /**
+     * Returns current <tt>modCount</tt>, to be passed to the
+     * <tt>cache*</tt> methods.
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    BigInteger toBigInteger() {
+        if (size == 0) {
+            return BigInteger.ZERO;
+        }
+        if (hasCompact()) {
+            return BigInteger.valueOf(compact);
+        }
+        byte[] digits = scratch(size);
+        writeDigits(digits, 0);
+        NumberListMetrics.conversion(size);
+        return RadixConversion.toBigInteger(digits, 0, size, base);
+    }
+
+    @Override
+    public String toString() {
+        return toString(true);
+    }
+
+    /**
+     * Same as <tt>toString()</tt>, but a fresh rendering is stored in the
+     * cache only when <tt>store</tt> is set. See {@link #cacheDecimalString}.
+     */
+    String toString(boolean store) {
+        if (size == 0) return "";
+        int mc = modCount;
+        Rendering cached = stringCache;
+        String res = cached == null ? null : cached.get(mc);
+        if (res != null) return res;
+        if (!inflated) {
+            char[] chars = new char[size];
+            long v = compact;
+            for (int i = size - 1; i >= 0; --i) {
+                chars[i] = Character.toUpperCase(Character.forDigit((int) (v % base), base));
+                v /= base;
+            }
+            res = new String(chars);
+        } else {
+            StringBuilder sb = new StringBuilder(size);
+            Node cur = head;
+            for (int i = 0; i < size; ++i) {
+                sb.append(Character.toUpperCase(Character.forDigit(cur.value, base)));
+                cur = cur.next;
+            }
+            NumberListMetrics.hops(Operation.TRAVERSE, size);
+            res = sb.toString();
+        }
+        if (store) {
+            stringCache = new Rendering(mc, res);
+        }
+        return res;
+    }
+
+    /**
+     * Stores rendering of <tt>toString()</tt> made for <tt>modCount</tt>
+     * <tt>mc</tt>. See {@link #cacheDecimalString}.
+     */
+    void cacheString(String value, int mc) {
+        Rendering cached = stringCache;
+        if (cached == null || cached.get(mc) == null) {
+            stringCache = new Rendering(mc, value);
+        }
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberList)) return false;
+        NumberList other = (NumberList) o;
+        if (other.size() != this.size) return false;
+        if (other instanceof NumberListImpl) {
+            NumberListImpl that = (NumberListImpl) other;
+            if (this.base == that.base && this.hasCompact() && that.hasCompact()) {
+                return this.compact == that.compact;
+            }
+            long h1 = this.hashCache;
+            long h2 = that.hashCache;
+            if ((int) (h1 >>> 32) == this.modCount && (int) (h2 >>> 32) == that.modCount
+                    && (int) h1 != (int) h2) {
+                return false;
+            }
+            if (!this.inflated || !that.inflated) {
+                PrimitiveIterator.OfInt a = this.digitIterator();
+                PrimitiveIterator.OfInt b = that.digitIterator();
+                while (a.hasNext()) {
+                    if (a.nextInt() != b.nextInt()) return false;
+                }
+                return true;
+            }
+            Node cur = head;
+            Node cur2 = that.head;
+            int i = 0;
+            while (i < this.size && cur.value == cur2.value) {
+                cur = cur.next;
+                cur2 = cur2.next;
+                i++;
+            }
+            NumberListMetrics.hops(Operation.TRAVERSE, 2L * i);
+            return i == this.size;
+        }
+        if (!inflated) {
+            Iterator<Byte> it = other.iterator();
+            for (int i = 0; i < size; ++i) {
+                Byte b = it.next();
+                if (b == null || b != compactDigit(i)) return false;
+            }
+            return true;
+        }
+        Node cur = head;
+        Iterator<Byte> it = other.iterator();
+        int i = 0;
+        while (i < this.size) {
+            Byte b = it.next();
+            if (b == null || b != cur.value) break;
+            cur = cur.next;
+            i++;
+        }
+        NumberListMetrics.hops(Operation.TRAVERSE, i);
+        return i == this.size;
+    }
+
+
+    /**
+     * Returns hash code as defined by <tt>List.hashCode()</tt>. Value is
+     * cached until the next modification of the list.
+     */
+    @Override
+    public int hashCode() {
+        return hashCode(true);
+    }
+
+    /**
+     * Same as <tt>hashCode()</tt>, but a fresh value is stored in the cache
+     * only when <tt>store</tt> is set. See {@link #cacheDecimalString}.
+     */
+    int hashCode(boolean store) {
+        int mc = modCount;
+        long cached = hashCache;
+        if ((int) (cached >>> 32) == mc) {
+            return (int) cached;
+        }
+        int h;
+        if (!inflated) {
+            // 31^size + sum of d[i] * 31^(size-1-i), from the last digit
+            long v = compact;
+            int pow = 1;
+            h = 0;
+            for (int i = 0; i < size; ++i) {
+                h += (int) (v % base) * pow;
+                pow *= 31;
+                v /= base;
+            }
+            h += pow;
         } else {
-            BigInteger tmp = BigInteger.ZERO;
-            for (int i = 0; i < arg.size(); ++i) {
-                Byte d = arg.get(i);
-                tmp = tmp.multiply(BigInteger.TEN).add(BigInteger.valueOf(d));
+            h = 1;
+            Node cur = head;
+            for (int i = 0; i < size; ++i) {
+                h = 31 * h + cur.value;
+                cur = cur.next;
             }
-            b = tmp;
-        }
-        if (b.equals(BigInteger.ZERO)) {
-            throw new ArithmeticException("Division by zero in additionalOperation");
+            NumberListMetrics.hops(Operation.TRAVERSE, size);
         }
-        BigInteger r = a.mod(b);
-        NumberListImpl result = new NumberListImpl(r.toString()); 
-        if (this.base != 3) {
-            NumberListImpl tmp = new NumberListImpl();
-            tmp.base = this.base;
-            if (r.equals(BigInteger.ZERO)) {
-                tmp.add((byte) 0);
-                return tmp;
-            }
-            BigInteger bBase = BigInteger.valueOf(this.base);
-            java.util.ArrayList<Byte> digits = new java.util.ArrayList<>();
-            while (r.compareTo(BigInteger.ZERO) > 0) {
-                BigInteger[] dr = r.divideAndRemainder(bBase);
-                r = dr[0];
-                digits.add((byte) dr[1].intValue());
-            }
-            for (int i = digits.size() - 1; i >= 0; --i) {
-                tmp.add(digits.get(i));
-            }
-            return tmp;
-        } else {
-            return result;
+        if (store) {
+            cacheHashCode(h, mc);
         }
+        return h;
+    }
+
+    /**
+     * Stores hash code computed for <tt>modCount</tt> <tt>mc</tt>. See
+     * {@link #cacheDecimalString}.
+     */
+    void cacheHashCode(int h, int mc) {
+        hashCache = ((long) mc << 32) | (h & 0xFFFFFFFFL);
     }
 
 
     /**
-     * Returns string representation of number, stored in the list
-     * in <b>decimal</b> scale of notation.
+     * Compares numbers, stored in the lists, by value. Lists may be in
+     * different scales of notation.<p>
      *
-     * @return string representation in <b>decimal</b> scale.
+     * Note that this ordering is inconsistent with <tt>equals</tt>, which
+     * compares digits: <tt>"012"</tt> and <tt>"12"</tt> are different lists
+     * holding the same number.
+     *
+     * @param o - list to compare with
+     * @return negative integer, zero or positive integer as this number
+     *         is less than, equal to or greater than the other one.
      */
-    public String toDecimalString() {
-        return toBigInteger().toString();
+    @Override
+    public int compareTo(NumberListImpl o) {
+        if (this == o) return 0;
+        if (hasCompact() && o.hasCompact()) {
+            return Long.compare(compact, o.compact);
+        }
+        int len1 = significantDigits();
+        int len2 = o.significantDigits();
+        if (len1 == 0 || len2 == 0) {
+            return Integer.compare(len1, len2);
+        }
+        if (base == o.base) {
+            if (len1 != len2) {
+                return len1 < len2 ? -1 : 1;
+            }
+            if (!inflated || !o.inflated) {
+                return toBigInteger().compareTo(o.toBigInteger());
+            }
+            Node a = nodeAt(size - len1);
+            Node b = o.nodeAt(o.size - len2);
+            int i = 0;
+            while (i < len1 && a.value == b.value) {
+                a = a.next;
+                b = b.next;
+                i++;
+            }
+            NumberListMetrics.hops(Operation.COMPARE, (size - len1) + (o.size - len2) + 2L * i);
+            if (i < len1) {
+                return a.value < b.value ? -1 : 1;
+            }
+            return 0;
+        }
+        // base^(len-1) <= value < base^len, so compare log2 ranges first
+        double lb1 = Math.log(base) / Math.log(2);
+        double lb2 = Math.log(o.base) / Math.log(2);
+        double eps = 1e-9 * (len1 + len2);
+        if (len1 * lb1 <= (len2 - 1) * lb2 - eps) return -1;
+        if (len2 * lb2 <= (len1 - 1) * lb1 - eps) return 1;
+        return toBigInteger().compareTo(o.toBigInteger());
     }
 
-    private BigInteger toBigInteger() {
-        if (size == 0) {
-            return BigInteger.ZERO;
+    /**
+     * Returns number of digits without leading zeros. Cached until the
+     * next modification of the list.
+     */
+    private int significantDigits() {
+        long cached = significantCache;
+        if ((int) (cached >>> 32) == modCount) {
+            return (int) cached;
         }
-        BigInteger res = BigInteger.ZERO;
-        BigInteger bBase = BigInteger.valueOf(base);
-        Node cur = head;
-        for (int i = 0; i < size; ++i) {
-            res = res.multiply(bBase).add(BigInteger.valueOf(cur.value));
-            cur = cur.next;
+        int res;
+        if (!inflated) {
+            res = 0;
+            for (long v = compact; v > 0; v /= base) res++;
+        } else {
+            int zeros = 0;
+            Node cur = head;
+            while (zeros < size && cur.value == 0) {
+                zeros++;
+                cur = cur.next;
+            }
+            NumberListMetrics.hops(Operation.COMPARE, zeros);
+            res = size - zeros;
         }
+        significantCache = ((long) modCount << 32) | res;
         return res;
     }
 
-    @Override
-    public String toString() {
-        if (size == 0) return ""; 
-        
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Returns node at specified position. The list must have its nodes
+     * built.
+     */
+    private Node nodeAt(int index) {
         Node cur = head;
-        for (int i = 0; i < size; ++i) {
-            sb.append(cur.value);
-            cur = cur.next;
-        }
-        return sb.toString();
-    }
-
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof NumberList)) return false;
-        NumberList other = (NumberList) o;
-        if (other.size() != this.size) return false;
-        for (int i = 0; i < this.size; ++i) {
-            Byte a = this.get(i);
-            Byte b = other.get(i);
-            if (a == null || b == null) {
-                if (a != b) return false;
-            } else if (!a.equals(b)) {
-                return false;
-            }
-        }
-        return true;
+        for (int i = 0; i < index; ++i) cur = cur.next;
+        return cur;
     }
 
 
@@ -322,11 +1468,16 @@ public class NumberListImpl implements NumberList {
     public boolean contains(Object o) {
         if (!(o instanceof Byte)) return false;
         byte v = (Byte) o;
+        if (!inflated) return compactIndexOf(v, true) >= 0;
         Node cur = head;
         for (int i = 0; i < size; ++i) {
-            if (cur.value == v) return true;
+            if (cur.value == v) {
+                NumberListMetrics.hops(Operation.SEARCH, i);
+                return true;
+            }
             cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.SEARCH, size);
         return false;
     }
 
@@ -344,10 +1495,12 @@ public class NumberListImpl implements NumberList {
 
             @Override
             public Byte next() {
-                if (!hasNext()) throw new java.util.NoSuchElementException();
+                if (!hasNext()) throw new NoSuchElementException();
+                if (cur == null) return compactDigit(idx++);
                 byte v = cur.value;
                 cur = cur.next;
                 idx++;
+                NumberListMetrics.hops(Operation.TRAVERSE, 1);
                 return v;
             }
 
@@ -359,14 +1512,76 @@ public class NumberListImpl implements NumberList {
     }
 
 
+    /**
+     * Returns iterator over digits, from the most significant one,
+     * without boxing.
+     *
+     * @return primitive iterator over digits.
+     */
+    public PrimitiveIterator.OfInt digitIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int idx = 0;
+            private Node cur = head;
+
+            @Override
+            public boolean hasNext() {
+                return idx < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (cur == null) return compactDigit(idx++);
+                byte v = cur.value;
+                cur = cur.next;
+                idx++;
+                NumberListMetrics.hops(Operation.TRAVERSE, 1);
+                return v;
+            }
+        };
+    }
+
+
+    /**
+     * Performs action for every digit, from the most significant one,
+     * without boxing.
+     *
+     * @param action - action to be performed.
+     */
+    public void forEachDigit(IntConsumer action) {
+        if (action == null) throw new NullPointerException();
+        if (!inflated) {
+            for (int i = 0; i < size; ++i) {
+                action.accept(compactDigit(i));
+            }
+            return;
+        }
+        Node cur = head;
+        for (int i = 0; i < size; ++i) {
+            action.accept(cur.value);
+            cur = cur.next;
+        }
+        NumberListMetrics.hops(Operation.TRAVERSE, size);
+    }
+
+
     @Override
     public Object[] toArray() {
         Object[] arr = new Object[size];
+        if (!inflated) {
+            long v = compact;
+            for (int i = size - 1; i >= 0; --i) {
+                arr[i] = Byte.valueOf((byte) (v % base));
+                v /= base;
+            }
+            return arr;
+        }
         Node cur = head;
         for (int i = 0; i < size; ++i) {
             arr[i] = Byte.valueOf(cur.value);
             cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.TRAVERSE, size);
         return arr;
     }
 
@@ -374,36 +1589,110 @@ public class NumberListImpl implements NumberList {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        if (a.length < size) {
-            T[] arr = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
-            for (int i = 0; i < size; ++i) {
-                arr[i] = (T) Byte.valueOf(get(i));
+        T[] arr = a.length < size
+                ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size)
+                : a;
+        if (!inflated) {
+            long v = compact;
+            for (int i = size - 1; i >= 0; --i) {
+                arr[i] = (T) Byte.valueOf((byte) (v % base));
+                v /= base;
             }
-            return arr;
         } else {
+            Node cur = head;
             for (int i = 0; i < size; ++i) {
-                a[i] = (T) Byte.valueOf(get(i));
+                arr[i] = (T) Byte.valueOf(cur.value);
+                cur = cur.next;
             }
-            if (a.length > size) a[size] = null;
-            return a;
+            NumberListMetrics.hops(Operation.TRAVERSE, size);
+        }
+        if (arr.length > size) arr[size] = null;
+        return arr;
+    }
+
+
+    /**
+     * Returns digits of the list in new array, the most significant first.
+     *
+     * @return array of digits.
+     */
+    public byte[] toDigitArray() {
+        byte[] res = new byte[size];
+        copyDigitsInto(res, 0);
+        return res;
+    }
+
+
+    /**
+     * Copies digits of the list into <tt>dst</tt>, starting at
+     * <tt>off</tt>, the most significant first.
+     *
+     * @param dst - destination array.
+     * @param off - position in <tt>dst</tt> of the first digit.
+     * @return number of copied digits.
+     */
+    public int copyDigitsInto(byte[] dst, int off) {
+        if (dst == null) throw new NullPointerException();
+        if (off < 0 || off > dst.length - size) throw new IndexOutOfBoundsException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
+        writeDigits(dst, off);
+        commitBulk(event, "export", size, size);
+        return size;
+    }
+
+    private void writeDigits(byte[] dst, int off) {
+        if (!inflated) {
+            compactDigits(dst, off);
+            return;
+        }
+        Node cur = head;
+        for (int i = 0; i < size; ++i) {
+            dst[off + i] = cur.value;
+            cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.TRAVERSE, size);
     }
 
 
     @Override
     public boolean add(Byte e) {
         if (e == null) throw new NullPointerException();
-        if (e < 0 || e >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
-        Node n = new Node(e);
+        return addDigit(e);
+    }
+
+
+    /**
+     * Appends digit as the least significant one. Same as
+     * <tt>add(Byte)</tt>, without boxing.
+     *
+     * @param e - digit to append.
+     * @return <tt>true</tt>.
+     */
+    public boolean addDigit(byte e) {
+        checkMutable();
+        checkDigit(e);
+        if (size == 0 || (!inflated && size < 63 && compact <= (Long.MAX_VALUE - e) / base)) {
+            compact = size == 0 ? e : compact * base + e;
+            inflated = false;
+            head = null;
+            tail = null;
+            size++;
+            compactModCount = ++modCount;
+            return true;
+        }
+        inflate();
+        Node n = newNode(e);
+        modCount++;
         if (head == null) {
             head = n;
+            tail = n;
             size = 1;
             return true;
         } else {
-            Node tail = head;
-            for (int i = 1; i < size; ++i) tail = tail.next;
             tail.next = n;
             n.next = head;
+            tail = n;
             size++;
             return true;
         }
@@ -412,6 +1701,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean remove(Object o) {
+        checkMutable();
+        inflate();
         if (!(o instanceof Byte)) return false;
         if (head == null) return false;
         byte v = (Byte) o;
@@ -419,26 +1710,32 @@ public class NumberListImpl implements NumberList {
         Node prev = null;
         for (int i = 0; i < size; ++i) {
             if (cur.value == v) {
+                modCount++;
+                NumberListMetrics.hops(Operation.SEARCH, i);
+                NumberListMetrics.unlinked(1);
                 if (size == 1) {
                     head = null;
+                    tail = null;
                     size = 0;
+                    recycle(cur);
                     return true;
                 } else {
                     if (cur == head) {
-                        Node tail = head;
-                        for (int j = 1; j < size; ++j) tail = tail.next;
                         head = head.next;
                         tail.next = head;
                     } else {
                         prev.next = cur.next;
+                        if (cur == tail) tail = prev;
                     }
                     size--;
+                    recycle(cur);
                     return true;
                 }
             }
             prev = cur;
             cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.SEARCH, size);
         return false;
     }
 
@@ -446,28 +1743,42 @@ public class NumberListImpl implements NumberList {
     @Override
     public boolean containsAll(Collection<?> c) {
         if (c == null) throw new NullPointerException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
+        boolean res = true;
         for (Object o : c) {
-            if (!contains(o)) return false;
+            if (!contains(o)) {
+                res = false;
+                break;
+            }
         }
-        return true;
+        commitBulk(event, "containsAll", c.size(), 0);
+        return res;
     }
 
 
     @Override
     public boolean addAll(Collection<? extends Byte> c) {
+        checkMutable();
         if (c == null) throw new NullPointerException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
         boolean changed = false;
         for (Byte b : c) {
             if (add(b)) changed = true;
         }
+        commitBulk(event, "addAll", c.size(), 0);
         return changed;
     }
 
 
     @Override
     public boolean addAll(int index, Collection<? extends Byte> c) {
+        checkMutable();
         if (c == null) throw new NullPointerException();
         if (index < 0 || index > size) throw new IndexOutOfBoundsException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
         boolean changed = false;
         int pos = index;
         for (Byte b : c) {
@@ -475,13 +1786,17 @@ public class NumberListImpl implements NumberList {
             pos++;
             changed = true;
         }
+        commitBulk(event, "addAll", c.size(), 0);
         return changed;
     }
 
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        checkMutable();
         if (c == null) throw new NullPointerException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
         boolean changed = false;
         Iterator<Byte> it = iterator();
         while (it.hasNext()) {
@@ -491,17 +1806,21 @@ public class NumberListImpl implements NumberList {
                 changed = true;
             }
         }
+        commitBulk(event, "removeAll", c.size(), 0);
         return changed;
     }
 
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        checkMutable();
         if (c == null) throw new NullPointerException();
+        NumberListEvents.Bulk event = new NumberListEvents.Bulk();
+        event.begin();
         boolean changed = false;
         int i = 0;
         while (i < size) {
-            Byte v = get(i);
+            Byte v = getDigit(i);
             if (!c.contains(v)) {
                 remove(i);
                 changed = true;
@@ -509,63 +1828,130 @@ public class NumberListImpl implements NumberList {
                 i++;
             }
         }
+        commitBulk(event, "retainAll", c.size(), 0);
         return changed;
     }
 
+    private void commitBulk(NumberListEvents.Bulk event, String operation, int elements, long bytes) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.digits = size;
+            event.base = base;
+            event.elements = elements;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
 
     @Override
     public void clear() {
+        checkMutable();
+        if (inflated) {
+            NumberListMetrics.unlinked(size);
+            recycleRing(head, size);
+        }
         head = null;
+        tail = null;
+        inflated = true;
         size = 0;
+        modCount++;
     }
 
 
     @Override
     public Byte get(int index) {
+        return Byte.valueOf(getDigit(index));
+    }
+
+
+    /**
+     * Returns digit at specified position without boxing.
+     *
+     * @param index - position of digit.
+     * @return digit.
+     */
+    public byte getDigit(int index) {
         checkIndex(index);
+        if (!inflated) return compactDigit(index);
         Node cur = head;
         for (int i = 0; i < index; ++i) cur = cur.next;
-        return Byte.valueOf(cur.value);
+        NumberListMetrics.hops(Operation.GET, index);
+        return cur.value;
     }
 
 
     @Override
     public Byte set(int index, Byte element) {
         if (element == null) throw new NullPointerException();
-        if (element < 0 || element >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
+        return Byte.valueOf(setDigit(index, element));
+    }
+
+
+    /**
+     * Replaces digit at specified position without boxing.
+     *
+     * @param index - position of digit.
+     * @param element - new digit.
+     * @return previous digit.
+     */
+    public byte setDigit(int index, byte element) {
+        checkMutable();
+        inflate();
+        checkDigit(element);
         checkIndex(index);
         Node cur = head;
         for (int i = 0; i < index; ++i) cur = cur.next;
+        NumberListMetrics.hops(Operation.SET, index);
         byte old = cur.value;
         cur.value = element;
-        return Byte.valueOf(old);
+        modCount++;
+        return old;
     }
 
 
     @Override
     public void add(int index, Byte element) {
         if (element == null) throw new NullPointerException();
-        if (element < 0 || element >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
+        addDigit(index, element);
+    }
+
+
+    /**
+     * Inserts digit at specified position without boxing.
+     *
+     * @param index - position of new digit.
+     * @param element - digit to insert.
+     */
+    public void addDigit(int index, byte element) {
+        checkMutable();
+        inflate();
+        checkDigit(element);
         if (index < 0 || index > size) throw new IndexOutOfBoundsException();
-        Node n = new Node(element);
+        Node n = newNode(element);
+        modCount++;
         if (size == 0) {
             head = n;
+            tail = n;
             size = 1;
             return;
         }
         if (index == 0) {
-            Node tail = head;
-            for (int i = 1; i < size; ++i) tail = tail.next;
             n.next = head;
             head = n;
             tail.next = head;
             size++;
             return;
         } else {
-            Node prev = head;
-            for (int i = 1; i < index; ++i) prev = prev.next;
+            Node prev = tail;
+            if (index < size) {
+                prev = head;
+                for (int i = 1; i < index; ++i) prev = prev.next;
+                NumberListMetrics.hops(Operation.INSERT, index - 1);
+            }
             n.next = prev.next;
             prev.next = n;
+            if (prev == tail) tail = n;
             size++;
             return;
         }
@@ -574,28 +1960,38 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public Byte remove(int index) {
+        checkMutable();
+        inflate();
         checkIndex(index);
+        modCount++;
+        NumberListMetrics.unlinked(1);
         if (size == 1 && index == 0) {
             byte v = head.value;
+            recycle(head);
             head = null;
+            tail = null;
             size = 0;
             return Byte.valueOf(v);
         }
         if (index == 0) {
-            Node tail = head;
-            for (int i = 1; i < size; ++i) tail = tail.next;
-            byte v = head.value;
+            Node old = head;
+            byte v = old.value;
             head = head.next;
             tail.next = head;
             size--;
+            recycle(old);
             return Byte.valueOf(v);
         } else {
             Node prev = head;
             for (int i = 1; i < index; ++i) prev = prev.next;
+            NumberListMetrics.hops(Operation.REMOVE, index - 1);
             Node cur = prev.next;
             prev.next = cur.next;
+            if (cur == tail) tail = prev;
             size--;
-            return Byte.valueOf(cur.value);
+            byte v = cur.value;
+            recycle(cur);
+            return Byte.valueOf(v);
         }
     }
 
@@ -604,11 +2000,16 @@ public class NumberListImpl implements NumberList {
     public int indexOf(Object o) {
         if (!(o instanceof Byte)) return -1;
         byte v = (Byte) o;
+        if (!inflated) return compactIndexOf(v, false);
         Node cur = head;
         for (int i = 0; i < size; ++i) {
-            if (cur.value == v) return i;
+            if (cur.value == v) {
+                NumberListMetrics.hops(Operation.SEARCH, i);
+                return i;
+            }
             cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.SEARCH, size);
         return -1;
     }
 
@@ -617,12 +2018,14 @@ public class NumberListImpl implements NumberList {
     public int lastIndexOf(Object o) {
         if (!(o instanceof Byte)) return -1;
         byte v = (Byte) o;
+        if (!inflated) return compactIndexOf(v, true);
         Node cur = head;
         int res = -1;
         for (int i = 0; i < size; ++i) {
             if (cur.value == v) res = i;
             cur = cur.next;
         }
+        NumberListMetrics.hops(Operation.SEARCH, size);
         return res;
     }
 
@@ -648,10 +2051,25 @@ public List<Byte> subList(int fromIndex, int toIndex) {
 
     NumberListImpl sub = new NumberListImpl();
     sub.base = this.base;
+    if (fromIndex == toIndex) {
+        return sub;
+    }
 
+    Node last = null;
+    if (!inflated) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            last = sub.linkAfter(last, compactDigit(i));
+        }
+        sub.size = toIndex - fromIndex;
+        return sub;
+    }
+    Node cur = nodeAt(fromIndex);
     for (int i = fromIndex; i < toIndex; i++) {
-        sub.add(this.get(i));
+        last = sub.linkAfter(last, cur.value);
+        cur = cur.next;
     }
+    sub.size = toIndex - fromIndex;
+    NumberListMetrics.hops(Operation.TRAVERSE, toIndex);
 
     return sub;
 }
@@ -660,72 +2078,243 @@ public List<Byte> subList(int fromIndex, int toIndex) {
 
     @Override
     public boolean swap(int index1, int index2) {
+        checkMutable();
+        inflate();
         checkIndex(index1);
         checkIndex(index2);
         if (index1 == index2) return true;
         Node n1 = head, n2 = head;
         for (int i = 0; i < index1; ++i) n1 = n1.next;
         for (int i = 0; i < index2; ++i) n2 = n2.next;
+        NumberListMetrics.hops(Operation.SWAP, (long) index1 + index2);
         byte tmp = n1.value;
         n1.value = n2.value;
         n2.value = tmp;
+        modCount++;
         return true;
     }
 
 
     @Override
     public void sortAscending() {
+        checkMutable();
+        inflate();
         if (size <= 1) return;
-        boolean swapped;
-        do {
-            swapped = false;
-            Node cur = head;
-            for (int i = 0; i < size - 1; ++i) {
-                if (cur.value > cur.next.value) {
-                    byte t = cur.value;
-                    cur.value = cur.next.value;
-                    cur.next.value = t;
-                    swapped = true;
-                }
-                cur = cur.next;
-            }
-        } while (swapped);
+        sortDigits(true);
+        modCount++;
     }
 
 
     @Override
     public void sortDescending() {
+        checkMutable();
+        inflate();
         if (size <= 1) return;
-        boolean swapped;
-        do {
-            swapped = false;
-            Node cur = head;
-            for (int i = 0; i < size - 1; ++i) {
-                if (cur.value < cur.next.value) {
-                    byte t = cur.value;
-                    cur.value = cur.next.value;
-                    cur.next.value = t;
-                    swapped = true;
-                }
+        sortDigits(false);
+        modCount++;
+    }
+
+    /**
+     * Counting sort: digits are below <tt>base</tt>, so one pass counts
+     * them and the second one rewrites node values in order. Counters are
+     * per-thread, so sorting does not allocate.
+     */
+    private void sortDigits(boolean ascending) {
+        NumberListEvents.Sort event = new NumberListEvents.Sort();
+        event.begin();
+        int[] counts = SORT_COUNTS.get();
+        Arrays.fill(counts, 0, base, 0);
+        Node cur = head;
+        for (int i = 0; i < size; ++i) {
+            counts[cur.value]++;
+            cur = cur.next;
+        }
+        cur = head;
+        for (int k = 0; k < base; ++k) {
+            byte d = (byte) (ascending ? k : base - 1 - k);
+            for (int c = counts[d]; c > 0; --c) {
+                cur.value = d;
                 cur = cur.next;
             }
-        } while (swapped);
+        }
+        NumberListMetrics.hops(Operation.SORT, 2L * size);
+        if (event.shouldCommit()) {
+            event.ascending = ascending;
+            event.digits = size;
+            event.base = base;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns approximate size in bytes of the binary magnitude of the
+     * stored number.
+     */
+    private long magnitudeBytes() {
+        return magnitudeBytes(size, base);
+    }
+
+    private static long magnitudeBytes(int size, int base) {
+        return ((long) (size * (Math.log(base) / Math.log(2))) + 7) / 8;
     }
 
 
     @Override
     public void shiftLeft() {
+        checkMutable();
+        inflate();
         if (size <= 1) return;
+        tail = head;
         head = head.next;
+        NumberListMetrics.hops(Operation.SHIFT, 1);
+        modCount++;
     }
 
 
     @Override
     public void shiftRight() {
+        checkMutable();
+        inflate();
         if (size <= 1) return;
-        Node tail = head;
-        for (int i = 1; i < size; ++i) tail = tail.next;
+        Node prev = head;
+        while (prev.next != tail) prev = prev.next;
+        NumberListMetrics.hops(Operation.SHIFT, size - 2);
         head = tail;
+        tail = prev;
+        modCount++;
+    }
+
+    /**
+     * Returns independent copy of this list in the same scale of notation.
+     * Walks the list once.
+     */
+    NumberListImpl copy() {
+        NumberListImpl res = new NumberListImpl();
+        res.base = this.base;
+        if (!inflated) {
+            res.inflated = false;
+            res.compact = compact;
+            res.size = size;
+            res.compactModCount = res.modCount;
+            return res;
+        }
+        Node cur = head;
+        Node last = null;
+        for (int i = 0; i < size; ++i) {
+            last = res.linkAfter(last, cur.value);
+            cur = cur.next;
+        }
+        NumberListMetrics.hops(Operation.TRAVERSE, size);
+        res.size = size;
+        return res;
+    }
+
+    /**
+     * Builds list from already validated digits, most significant first,
+     * without walking to the tail for every digit.
+     */
+    static NumberListImpl fromDigits(byte[] digits, int base) {
+        NumberListImpl res = new NumberListImpl();
+        res.base = base;
+        res.appendDigits(digits, 0, digits.length);
+        return res;
+    }
+
+    /**
+     * Returns scale of notation of the stored number.
+     */
+    int base() {
+        return base;
+    }
+
+    /**
+     * Links new node after <tt>last</tt> (or as head when <tt>last</tt> is
+     * null), keeping the ring closed. New node becomes the tail. Does not
+     * update <tt>size</tt>.
+     */
+    private Node linkAfter(Node last, byte value) {
+        Node n = newNode(value);
+        if (last == null) {
+            head = n;
+        } else {
+            last.next = n;
+            n.next = head;
+        }
+        tail = n;
+        return n;
+    }
+
+    /**
+     * Returns true when <tt>compact</tt> holds the current value.
+     */
+    private boolean hasCompact() {
+        return compactModCount == modCount;
+    }
+
+    /**
+     * Creates nodes for a list in the small-number representation. Does
+     * not change the logical content, so <tt>modCount</tt> is kept and the
+     * compact value remains valid as a shadow.
+     */
+    void inflate() {
+        if (inflated) return;
+        byte[] digits = new byte[size];
+        compactDigits(digits, 0);
+        head = null;
+        tail = null;
+        Node last = null;
+        for (byte d : digits) {
+            last = linkAfter(last, d);
+        }
+        inflated = true;
+    }
+
+    /**
+     * Writes <tt>size</tt> digits of <tt>compact</tt> into
+     * <tt>dst[off..off+size)</tt>, including leading zeros.
+     */
+    private void compactDigits(byte[] dst, int off) {
+        long v = compact;
+        for (int i = off + size - 1; i >= off; --i) {
+            dst[i] = (byte) (v % base);
+            v /= base;
+        }
+    }
+
+    /**
+     * Returns digit at <tt>index</tt> of a list in the small-number
+     * representation: <tt>compact / base<sup>size-1-index</sup> % base</tt>.
+     */
+    private byte compactDigit(int index) {
+        long v = compact;
+        for (int i = size - 1; i > index; --i) v /= base;
+        return (byte) (v % base);
+    }
+
+    /**
+     * Returns first (or, when <tt>last</tt> is set, last) index of digit
+     * <tt>d</tt> in a list in the small-number representation, or -1.
+     * Digits are produced from the least significant one in a single pass.
+     */
+    private int compactIndexOf(byte d, boolean last) {
+        int res = -1;
+        long v = compact;
+        for (int i = size - 1; i >= 0; --i) {
+            if (v % base == d) {
+                res = i;
+                if (last) break;
+            }
+            v /= base;
+        }
+        return res;
+    }
+
+    private void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("NumberListImpl is unmodifiable");
+    }
+
+    private void checkDigit(byte d) {
+        if (d < 0 || d >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
     }
 
     private void checkIndex(int index) {
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in counters of work done by <tt>NumberListImpl</tt>: node hops by
+ * operation, allocated and unlinked nodes, conversions and digits they
+ * processed.<p>
+ *
+ * Collection is disabled by default and costs a single volatile read per
+ * operation while disabled. Counters are <tt>LongAdder</tt>s, so threads
+ * updating them concurrently do not contend. Values can be read with
+ * {@link #snapshot()} or through JMX after {@link #register()}.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public final class NumberListMetrics {
+
+    /**
+     * Kinds of operations which walk the nodes.
+     */
+    public enum Operation {
+        /** <tt>get</tt> and <tt>getDigit</tt>. */
+        GET,
+        /** <tt>set</tt> and <tt>setDigit</tt>. */
+        SET,
+        /** Positional insertion. */
+        INSERT,
+        /** Positional removal. */
+        REMOVE,
+        /** <tt>contains</tt>, <tt>indexOf</tt>, <tt>lastIndexOf</tt>, <tt>remove(Object)</tt>. */
+        SEARCH,
+        /** <tt>swap</tt>. */
+        SWAP,
+        /** <tt>shiftLeft</tt> and <tt>shiftRight</tt>. */
+        SHIFT,
+        /** <tt>sortAscending</tt> and <tt>sortDescending</tt>. */
+        SORT,
+        /** <tt>compareTo</tt>. */
+        COMPARE,
+        /** Whole-list walks: iteration, <tt>equals</tt>, <tt>hashCode</tt>, rendering, copying. */
+        TRAVERSE
+    }
+
+    public static final String OBJECT_NAME = "ua.kpi.comsys.test2:type=NumberListMetrics";
+
+    private static volatile boolean enabled;
+
+    private static final LongAdder[] HOPS = new LongAdder[Operation.values().length];
+    private static final LongAdder ALLOCATED = new LongAdder();
+    private static final LongAdder UNLINKED = new LongAdder();
+    private static final LongAdder CONVERSIONS = new LongAdder();
+    private static final LongAdder CONVERSION_DIGITS = new LongAdder();
+
+    static {
+        for (int i = 0; i < HOPS.length; ++i) {
+            HOPS[i] = new LongAdder();
+        }
+    }
+
+    private NumberListMetrics() {
+    }
+
+    /**
+     * Immutable view of counters at some moment. Counters are read one by
+     * one, so values updated concurrently may be slightly inconsistent.
+     */
+    public static final class Snapshot {
+        private final long[] hops;
+        private final long allocated;
+        private final long unlinked;
+        private final long conversions;
+        private final long conversionDigits;
+
+        private Snapshot() {
+            hops = new long[HOPS.length];
+            for (int i = 0; i < hops.length; ++i) {
+                hops[i] = HOPS[i].sum();
+            }
+            allocated = ALLOCATED.sum();
+            unlinked = UNLINKED.sum();
+            conversions = CONVERSIONS.sum();
+            conversionDigits = CONVERSION_DIGITS.sum();
+        }
+
+        public long nodeHops(Operation op) {
+            return hops[op.ordinal()];
+        }
+
+        public long totalNodeHops() {
+            long res = 0;
+            for (long h : hops) res += h;
+            return res;
+        }
+
+        public Map<Operation, Long> nodeHopsByOperation() {
+            Map<Operation, Long> res = new EnumMap<>(Operation.class);
+            for (Operation op : Operation.values()) {
+                res.put(op, hops[op.ordinal()]);
+            }
+            return Collections.unmodifiableMap(res);
+        }
+
+        public long nodesAllocated() {
+            return allocated;
+        }
+
+        public long nodesUnlinked() {
+            return unlinked;
+        }
+
+        public long conversions() {
+            return conversions;
+        }
+
+        public long conversionDigits() {
+            return conversionDigits;
+        }
+
+        @Override
+        public String toString() {
+            return "NumberListMetrics[hops=" + nodeHopsByOperation()
+                    + ", allocated=" + allocated
+                    + ", unlinked=" + unlinked
+                    + ", conversions=" + conversions
+                    + ", conversionDigits=" + conversionDigits + "]";
+        }
+    }
+
+    /**
+     * Enables or disables collection of counters for all lists.
+     *
+     * @param value - whether counters have to be collected.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Returns whether counters are collected.
+     *
+     * @return <tt>true</tt> when enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns current values of all counters.
+     *
+     * @return snapshot of counters.
+     */
+    public static Snapshot snapshot() {
+        return new Snapshot();
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public static void reset() {
+        for (LongAdder h : HOPS) h.reset();
+        ALLOCATED.reset();
+        UNLINKED.reset();
+        CONVERSIONS.reset();
+        CONVERSION_DIGITS.reset();
+    }
+
+    /**
+     * Registers the MBean in the platform MBean server, unless it is
+     * registered already.
+     *
+     * @return name of the MBean.
+     */
+    public static ObjectName register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                try {
+                    server.registerMBean(new MBean(), name);
+                } catch (InstanceAlreadyExistsException e) {
+                    // registered concurrently
+                }
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    static void hops(Operation op, long count) {
+        if (enabled) HOPS[op.ordinal()].add(count);
+    }
+
+    static void allocated() {
+        if (enabled) ALLOCATED.increment();
+    }
+
+    static void unlinked(long count) {
+        if (enabled) UNLINKED.add(count);
+    }
+
+    static void conversion(long digits) {
+        if (enabled) {
+            CONVERSIONS.increment();
+            CONVERSION_DIGITS.add(digits);
+        }
+    }
+
+
+    private static final class MBean implements NumberListMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return NumberListMetrics.isEnabled();
+        }
+
+
+        @Override
+        public void setEnabled(boolean value) {
+            NumberListMetrics.setEnabled(value);
+        }
+
+
+        @Override
+        public long getNodeHops() {
+            return snapshot().totalNodeHops();
+        }
+
+
+        @Override
+        public Map<String, Long> getNodeHopsByOperation() {
+            Map<String, Long> res = new LinkedHashMap<>();
+            for (Operation op : Operation.values()) {
+                res.put(op.name(), HOPS[op.ordinal()].sum());
+            }
+            return res;
+        }
+
+
+        @Override
+        public long getNodesAllocated() {
+            return ALLOCATED.sum();
+        }
+
+
+        @Override
+        public long getNodesUnlinked() {
+            return UNLINKED.sum();
+        }
+
+
+        @Override
+        public long getConversions() {
+            return CONVERSIONS.sum();
+        }
+
+
+        @Override
+        public long getConversionDigits() {
+            return CONVERSION_DIGITS.sum();
+        }
+
+
+        @Override
+        public void reset() {
+            NumberListMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link NumberListMetrics}, registered as
+ * <tt>ua.kpi.comsys.test2:type=NumberListMetrics</tt>.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public interface NumberListMetricsMXBean {
+
+    /**
+     * Returns whether counters are collected.
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables collection of counters.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns total number of node hops of all operations.
+     */
+    long getNodeHops();
+
+    /**
+     * Returns number of node hops by operation name.
+     */
+    Map<String, Long> getNodeHopsByOperation();
+
+    /**
+     * Returns number of allocated nodes.
+     */
+    long getNodesAllocated();
+
+    /**
+     * Returns number of nodes unlinked from lists.
+     */
+    long getNodesUnlinked();
+
+    /**
+     * Returns number of conversions between list digits and binary form.
+     */
+    long getConversions();
+
+    /**
+     * Returns total number of digits processed by conversions.
+     */
+    long getConversionDigits();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Modular exponentiation and greatest common divisor of non-negative
+ * numbers in 64-bit limbs (see {@link Limbs}).<p>
+ *
+ * <tt>modPow</tt> scans the exponent with sliding windows of odd powers and
+ * multiplies in Montgomery form (CIOS), so no division happens inside the
+ * loop. Montgomery reduction needs odd modulus; even moduli are passed to
+ * <tt>BigInteger.modPow</tt>, which splits them by the Chinese remainder
+ * theorem. So are moduli longer than {@link #MONTGOMERY_LIMBS}: there
+ * HotSpot replaces Montgomery multiplication of <tt>BigInteger</tt> with
+ * an intrinsic, which outruns this code. <tt>gcd</tt> combines binary
+ * steps with Lehmer's method and works in place on a few arrays.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class NumberTheory {
+
+    /**
+     * Longest odd modulus, in limbs, exponentiated here rather than by
+     * <tt>BigInteger</tt>.
+     */
+    static final int MONTGOMERY_LIMBS = 8;
+
+    private NumberTheory() {
+    }
+
+    /**
+     * Returns <tt>base<sup>exp</sup> mod m</tt>.
+     *
+     * @throws ArithmeticException if <tt>m</tt> is zero.
+     */
+    static long[] modPow(long[] base, long[] exp, long[] m) {
+        int n = Limbs.length(m);
+        if (n == 0) {
+            throw new ArithmeticException("Modulus is zero");
+        }
+        if ((m[0] & 1) == 0 || n > MONTGOMERY_LIMBS) {
+            return Limbs.fromBigInteger(Limbs.toBigInteger(base)
+                    .modPow(Limbs.toBigInteger(exp), Limbs.toBigInteger(m)));
+        }
+        if (n == 1 && m[0] == 1) {
+            return Limbs.ZERO;
+        }
+        int bits = bitLength(exp);
+        if (bits == 0) {
+            return new long[] {1};
+        }
+        Montgomery mont = new Montgomery(Arrays.copyOf(m, n));
+        long[] b = mont.toMontgomery(base);
+
+        // table[i] = b^(2i+1)
+        int w = window(bits);
+        long[][] table = new long[1 << (w - 1)][];
+        table[0] = b;
+        if (w > 1) {
+            long[] b2 = mont.multiply(b, b);
+            for (int i = 1; i < table.length; ++i) {
+                table[i] = mont.multiply(table[i - 1], b2);
+            }
+        }
+
+        long[] acc = null;
+        int i = bits - 1;
+        while (i >= 0) {
+            if (!testBit(exp, i)) {
+                mont.multiply(acc, acc, acc);
+                i--;
+                continue;
+            }
+            int j = Math.max(i - w + 1, 0);
+            while (!testBit(exp, j)) j++;
+            int window = 0;
+            for (int k = i; k >= j; --k) {
+                window = window << 1 | (testBit(exp, k) ? 1 : 0);
+            }
+            if (acc == null) {
+                acc = table[window >>> 1].clone();
+            } else {
+                for (int k = i; k >= j; --k) {
+                    mont.multiply(acc, acc, acc);
+                }
+                mont.multiply(acc, table[window >>> 1], acc);
+            }
+            i = j - 1;
+        }
+        return mont.fromMontgomery(acc);
+    }
+
+    /**
+     * Returns greatest common divisor; <tt>gcd(0, 0) = 0</tt>.<p>
+     *
+     * Common factors of two are taken out first, so the rest of the
+     * divisor is odd and factors of two can be dropped from either
+     * operand at any step. Long operands are reduced by Lehmer's method:
+     * Euclid's algorithm runs on leading 62 bits as long as it provably
+     * takes the same quotients as on full numbers, and its cofactors are
+     * applied to full numbers at once. Otherwise, or when operands fit two
+     * limbs, a binary step (subtraction) is taken.
+     */
+    static long[] gcd(long[] a, long[] b) {
+        int n = Math.max(Limbs.length(a), Limbs.length(b));
+        long[] u = Arrays.copyOf(a, n);
+        long[] v = Arrays.copyOf(b, n);
+        if (Limbs.length(u) == 0) {
+            return v;
+        }
+        if (Limbs.length(v) == 0) {
+            return u;
+        }
+        int k = Math.min(trailingZeros(u), trailingZeros(v));
+        long[] nu = new long[n];
+        long[] nv = new long[n];
+        int lu = n;
+        int lv = n;
+        while (true) {
+            lu = stripTwos(u, lu);
+            lv = stripTwos(v, lv);
+            int c = lu != lv ? Integer.compare(lu, lv) : compare(u, v, lu);
+            if (c == 0) {
+                break;
+            }
+            if (c < 0) {
+                long[] t = u;
+                u = v;
+                v = t;
+                int l = lu;
+                lu = lv;
+                lv = l;
+            }
+            if (lu <= 2 || !lehmer(u, v, nu, nv, lu)) {
+                subtract(u, v, lu);
+                continue;
+            }
+            long[] t = u;
+            u = nu;
+            nu = t;
+            t = v;
+            v = nv;
+            nv = t;
+            lv = lu;
+            while (lv > 0 && v[lv - 1] == 0) lv--;
+            if (lv == 0) {
+                lu = stripTwos(u, lu);
+                break;
+            }
+        }
+        return shiftLeft(Arrays.copyOf(u, lu), k);
+    }
+
+    /**
+     * Runs Euclid's algorithm on leading bits of <tt>u &ge; v</tt> and,
+     * when it made progress, writes the next pair of remainders to
+     * <tt>nu</tt> and <tt>nv</tt>.
+     *
+     * @return <tt>false</tt> if not a single quotient could be taken.
+     */
+    private static boolean lehmer(long[] u, long[] v, long[] nu, long[] nv, int len) {
+        int shift = 64 * len - Long.numberOfLeadingZeros(u[len - 1]) - 62;
+        long x = bitsAt(u, len, shift);
+        long y = bitsAt(v, len, shift);
+        long ca = 1, cb = 0, cc = 0, cd = 1;
+        while (y + cc != 0 && y + cd != 0) {
+            long q = (x + ca) / (y + cc);
+            if (q != (x + cb) / (y + cd)) {
+                break;
+            }
+            long t = ca - q * cc;
+            ca = cc;
+            cc = t;
+            t = cb - q * cd;
+            cb = cd;
+            cd = t;
+            t = x - q * y;
+            x = y;
+            y = t;
+        }
+        if (cb == 0) {
+            return false;
+        }
+        combine(nu, u, v, len, ca, cb);
+        combine(nv, u, v, len, cc, cd);
+        return true;
+    }
+
+    /**
+     * Writes <tt>x&middot;u + y&middot;v</tt> to lower <tt>len</tt> limbs
+     * of <tt>res</tt> and clears the rest; cofactors do not have the same
+     * sign and the result is known to be non-negative.
+     */
+    private static void combine(long[] res, long[] u, long[] v, int len, long x, long y) {
+        if (x < 0 || y > 0) {
+            combine(res, v, u, len, y, x);
+            return;
+        }
+        long b = -y;
+        long carry = 0;
+        long borrow = 0;
+        for (int i = 0; i < len; ++i) {
+            long plo = x * u[i];
+            long phi = Math.unsignedMultiplyHigh(x, u[i]);
+            long qlo = b * v[i];
+            long qhi = Math.unsignedMultiplyHigh(b, v[i]);
+            long s = plo + carry;
+            if (Long.compareUnsigned(s, plo) < 0) phi++;
+            long t = qlo + borrow;
+            if (Long.compareUnsigned(t, qlo) < 0) qhi++;
+            if (Long.compareUnsigned(s, t) < 0) qhi++;
+            res[i] = s - t;
+            carry = phi;
+            borrow = qhi;
+        }
+        Arrays.fill(res, len, res.length, 0);
+    }
+
+    /**
+     * Returns 64 bits of <tt>a</tt> starting at bit <tt>shift</tt>.
+     */
+    private static long bitsAt(long[] a, int len, int shift) {
+        int w = shift >>> 6;
+        int s = shift & 63;
+        long lo = a[w] >>> s;
+        return s == 0 || w + 1 >= len ? lo : lo | a[w + 1] << (64 - s);
+    }
+
+    /**
+     * Drops trailing zero bits of nonzero <tt>a</tt> of <tt>len</tt>
+     * limbs. Returns new length.
+     */
+    private static int stripTwos(long[] a, int len) {
+        shiftRight(a, len, trailingZeros(a));
+        while (len > 0 && a[len - 1] == 0) len--;
+        return len;
+    }
+
+    /**
+     * Montgomery arithmetic modulo odd <tt>m</tt> of <tt>n</tt> limbs with
+     * <tt>R = 2<sup>64n</sup></tt>. Numbers in Montgomery form are arrays
+     * of exactly <tt>n</tt> limbs, less than <tt>m</tt>.
+     */
+    private static final class Montgomery {
+        final long[] m;
+        final int n;
+        /** <tt>-m<sup>-1</sup> mod 2<sup>64</sup></tt>. */
+        final long inv;
+        /** <tt>R<sup>2</sup> mod m</tt>. */
+        final long[] r2;
+        /** Accumulator of {@link #multiply(long[], long[], long[])}. */
+        private final long[] t;
+
+        Montgomery(long[] m) {
+            this.m = m;
+            this.n = m.length;
+            long x = m[0];
+            for (int i = 0; i < 5; ++i) {
+                x *= 2 - m[0] * x;
+            }
+            this.inv = -x;
+            // 2^(128n) mod m by doubling, without division
+            long[] r = new long[n];
+            r[0] = 1;
+            for (int i = 0; i < 128 * n; ++i) {
+                long carry = shiftLeftOne(r);
+                if (carry != 0 || compare(r, m) >= 0) {
+                    subtract(r, m);
+                }
+            }
+            this.r2 = r;
+            this.t = new long[n + 2];
+        }
+
+        long[] multiply(long[] a, long[] b) {
+            long[] res = new long[n];
+            multiply(a, b, res);
+            return res;
+        }
+
+        /**
+         * Writes <tt>a&middot;b&middot;R<sup>-1</sup> mod m</tt> to
+         * <tt>res</tt>, for <tt>a&middot;b &lt; m&middot;R</tt>. The result
+         * may be one of the operands, so the exponentiation loop runs
+         * without allocation.
+         */
+        void multiply(long[] a, long[] b, long[] res) {
+            long[] t = this.t;
+            Arrays.fill(t, 0);
+            for (int i = 0; i < n; ++i) {
+                long bi = b[i];
+                long c = 0;
+                for (int j = 0; j < n; ++j) {
+                    long lo = a[j] * bi;
+                    long hi = Math.unsignedMultiplyHigh(a[j], bi);
+                    long s = lo + t[j];
+                    if (Long.compareUnsigned(s, lo) < 0) hi++;
+                    long s2 = s + c;
+                    if (Long.compareUnsigned(s2, s) < 0) hi++;
+                    t[j] = s2;
+                    c = hi;
+                }
+                long s = t[n] + c;
+                t[n + 1] = Long.compareUnsigned(s, c) < 0 ? 1 : 0;
+                t[n] = s;
+
+                long q = t[0] * inv;
+                long lo = q * m[0];
+                long hi = Math.unsignedMultiplyHigh(q, m[0]);
+                if (Long.compareUnsigned(lo + t[0], lo) < 0) hi++;
+                c = hi;
+                for (int j = 1; j < n; ++j) {
+                    lo = q * m[j];
+                    hi = Math.unsignedMultiplyHigh(q, m[j]);
+                    long s1 = lo + t[j];
+                    if (Long.compareUnsigned(s1, lo) < 0) hi++;
+                    long s2 = s1 + c;
+                    if (Long.compareUnsigned(s2, s1) < 0) hi++;
+                    t[j - 1] = s2;
+                    c = hi;
+                }
+                s = t[n] + c;
+                t[n - 1] = s;
+                t[n] = t[n + 1] + (Long.compareUnsigned(s, c) < 0 ? 1 : 0);
+            }
+            System.arraycopy(t, 0, res, 0, n);
+            if (t[n] != 0 || compare(res, m) >= 0) {
+                subtract(res, m);
+            }
+        }
+
+        /**
+         * Returns <tt>x&middot;R mod m</tt> for <tt>x</tt> of any length,
+         * by Horner's scheme over chunks of <tt>n</tt> limbs.
+         */
+        long[] toMontgomery(long[] x) {
+            int len = Limbs.length(x);
+            long[] acc = new long[n];
+            for (int from = (len - 1) / n * n; from >= 0 && len > 0; from -= n) {
+                long[] chunk = Arrays.copyOfRange(x, from, from + n);
+                long[] shifted = multiply(acc, r2);
+                long[] digit = multiply(chunk, r2);
+                if (addInto(shifted, digit) != 0 || compare(shifted, m) >= 0) {
+                    subtract(shifted, m);
+                }
+                acc = shifted;
+            }
+            return acc;
+        }
+
+        long[] fromMontgomery(long[] x) {
+            long[] one = new long[n];
+            one[0] = 1;
+            return multiply(x, one);
+        }
+    }
+
+    private static int window(int bits) {
+        return bits <= 7 ? 1 : bits <= 36 ? 2 : bits <= 140 ? 3 : bits <= 450 ? 4 : bits <= 1303 ? 5 : 6;
+    }
+
+    private static int bitLength(long[] a) {
+        int n = Limbs.length(a);
+        return n == 0 ? 0 : 64 * n - Long.numberOfLeadingZeros(a[n - 1]);
+    }
+
+    private static boolean testBit(long[] a, int bit) {
+        return (a[bit >>> 6] >>> (bit & 63) & 1) != 0;
+    }
+
+    /**
+     * Compares arrays of equal length as unsigned numbers.
+     */
+    private static int compare(long[] a, long[] b) {
+        return compare(a, b, a.length);
+    }
+
+    /**
+     * Compares lower <tt>len</tt> limbs of arrays as unsigned numbers.
+     */
+    private static int compare(long[] a, long[] b, int len) {
+        for (int i = len - 1; i >= 0; --i) {
+            if (a[i] != b[i]) {
+                return Long.compareUnsigned(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * <tt>a -= b</tt> modulo 2<sup>64&middot;a.length</sup>.
+     */
+    private static void subtract(long[] a, long[] b) {
+        subtract(a, b, a.length);
+    }
+
+    /**
+     * <tt>a -= b</tt> over lower <tt>len</tt> limbs.
+     */
+    private static void subtract(long[] a, long[] b, int len) {
+        long borrow = 0;
+        for (int i = 0; i < len; ++i) {
+            long x = a[i];
+            long d = x - b[i] - borrow;
+            borrow = Long.compareUnsigned(x, b[i]) < 0 || (borrow != 0 && x == b[i]) ? 1 : 0;
+            a[i] = d;
+        }
+    }
+
+    /**
+     * <tt>a += b</tt> for arrays of equal length. Returns carry out.
+     */
+    private static long addInto(long[] a, long[] b) {
+        long carry = 0;
+        for (int i = 0; i < a.length; ++i) {
+            long x = a[i];
+            long s = x + b[i] + carry;
+            carry = Long.compareUnsigned(s, x) < 0 || (carry != 0 && s == x) ? 1 : 0;
+            a[i] = s;
+        }
+        return carry;
+    }
+
+    private static long shiftLeftOne(long[] a) {
+        long carry = 0;
+        for (int i = 0; i < a.length; ++i) {
+            long x = a[i];
+            a[i] = x << 1 | carry;
+            carry = x >>> 63;
+        }
+        return carry;
+    }
+
+    private static int trailingZeros(long[] a) {
+        int i = 0;
+        while (a[i] == 0) i++;
+        return i * 64 + Long.numberOfTrailingZeros(a[i]);
+    }
+
+    /**
+     * Shifts lower <tt>n</tt> limbs of <tt>a</tt> right in place.
+     */
+    private static void shiftRight(long[] a, int n, int bits) {
+        int words = bits >>> 6;
+        int shift = bits & 63;
+        for (int i = 0; i < n; ++i) {
+            int src = i + words;
+            long lo = src < n ? a[src] : 0;
+            long hi = src + 1 < n ? a[src + 1] : 0;
+            a[i] = shift == 0 ? lo : lo >>> shift | hi << (64 - shift);
+        }
+    }
+
+    private static long[] shiftLeft(long[] a, int bits) {
+        int words = bits >>> 6;
+        int shift = bits & 63;
+        int n = Limbs.length(a);
+        long[] res = new long[n + words + 1];
+        for (int i = 0; i < n; ++i) {
+            res[i + words] |= a[i] << shift;
+            if (shift != 0) {
+                res[i + words + 1] = a[i] >>> (64 - shift);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,743 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> with digits stored outside of the Java heap.<p>
+ *
+ * Digits are packed into a <tt>MemorySegment</tt> at 1, 2 or 4 bits each
+ * (2 bits for ternary digits), so a billion-digit number takes 250 MB of
+ * native memory and a few objects on the heap. Memory is owned by an
+ * <tt>Arena</tt> and released by {@link #close()}; any access afterwards
+ * throws <tt>IllegalStateException</tt>. A list created by
+ * {@link #mapped(Path, int)} keeps its digits in a memory-mapped file and
+ * can be reopened later.<p>
+ *
+ * <tt>swap</tt>, sorts, shifts, <tt>changeScale</tt> and
+ * <tt>additionalOperation</tt> behave as in <tt>NumberListImpl</tt>. Sorts
+ * and shifts work in place in linear time. Conversions read and write the
+ * digits in blocks, so the heap holds the binary magnitude of the number
+ * (about 0.2 bytes per ternary digit) plus one block. Searches, sorts and
+ * validation of mapped files scan packed blocks with {@link DigitKernels}
+ * and <tt>equals</tt> of two such lists compares memory directly.<p>
+ *
+ * Instances are not thread-safe, but may be handed between threads.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public final class OffHeapNumberList extends AbstractList<Byte> implements NumberList, AutoCloseable {
+
+    /** Header of mapped files: magic, base and digit count. */
+    private static final int MAGIC = 0x4E4C3031;
+    private static final long HEADER = 16;
+
+    private static final int MIN_CAPACITY = 64;
+
+    /** Digits converted at once by <tt>RadixConversion</tt>. */
+    private static final int BLOCK = 1 << 16;
+
+    private final int base;
+    /** log<sub>2</sub> of bits per digit. */
+    private final int logBits;
+    private final int mask;
+
+    private final FileChannel channel;
+    private final long offset;
+
+    private Arena arena;
+    private MemorySegment data;
+    private long capacity;
+    private int size;
+
+    private OffHeapNumberList(int base, FileChannel channel) {
+        if (base < 2 || base > 16) {
+            throw new IllegalArgumentException("Unsupported base " + base);
+        }
+        this.base = base;
+        int bits = 32 - Integer.numberOfLeadingZeros(base - 1);
+        this.logBits = bits <= 1 ? 0 : bits <= 2 ? 1 : 2;
+        this.mask = (1 << (1 << logBits)) - 1;
+        this.channel = channel;
+        this.offset = channel == null ? 0 : HEADER;
+    }
+
+    /**
+     * Constructs new empty list in the default scale of notation.
+     */
+    public OffHeapNumberList() {
+        this(3);
+    }
+
+    /**
+     * Constructs new empty list in specified scale of notation.
+     *
+     * @param base - scale of notation, from 2 to 16.
+     */
+    public OffHeapNumberList(int base) {
+        this(base, null);
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs new list by <b>decimal</b> number in string notation, in
+     * the default scale of notation. Invalid strings give empty list, as
+     * in <tt>NumberListImpl</tt>.
+     *
+     * @param value - number in string notation.
+     */
+    public OffHeapNumberList(String value) {
+        this(3);
+        String s = value == null ? "" : value.trim();
+        if (s.startsWith("+")) {
+            s = s.substring(1);
+        }
+        try {
+            assign(RadixConversion.parseDecimal(s));
+        } catch (NumberFormatException e) {
+            // invalid strings give empty list
+        }
+    }
+
+    /**
+     * Returns off-heap copy of the specified list. Copy of
+     * <tt>NumberListImpl</tt> or <tt>OffHeapNumberList</tt> keeps its scale
+     * of notation.
+     *
+     * @param list - list to be copied.
+     * @return new <tt>OffHeapNumberList</tt> with the same digits.
+     */
+    public static OffHeapNumberList copyOf(NumberList list) {
+        if (list == null) {
+            throw new IllegalArgumentException("list is null");
+        }
+        int base = list instanceof NumberListImpl ? ((NumberListImpl) list).base()
+                : list instanceof OffHeapNumberList ? ((OffHeapNumberList) list).base : 3;
+        OffHeapNumberList res = new OffHeapNumberList(base);
+        res.ensureCapacity(list.size());
+        for (Byte d : list) {
+            res.checkDigit(d);
+            res.setDigit(res.size++, d);
+        }
+        return res;
+    }
+
+    /**
+     * Opens list stored in the file, or creates empty one when the file
+     * does not exist or is empty. Digits live in the mapped file and
+     * changes reach it without explicit saving; {@link #close()} trims the
+     * file to the stored digits.
+     *
+     * @param file - file holding the list.
+     * @param base - scale of notation, has to match the stored one.
+     * @return list backed by the file.
+     */
+    public static OffHeapNumberList mapped(Path file, int base) {
+        if (file == null) {
+            throw new IllegalArgumentException("file is null");
+        }
+        FileChannel ch;
+        try {
+            ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot map file", e);
+        }
+        OffHeapNumberList res = new OffHeapNumberList(base, ch);
+        try {
+            long stored = ch.size();
+            if (stored == 0) {
+                res.allocate(MIN_CAPACITY);
+                res.data.set(ValueLayout.JAVA_INT_UNALIGNED, 0, MAGIC);
+                res.data.set(ValueLayout.JAVA_INT_UNALIGNED, 4, base);
+                res.writeSize();
+                return res;
+            }
+            if (stored < HEADER) {
+                throw new IllegalArgumentException("Not a number list file: " + file);
+            }
+            res.allocate(((stored - HEADER) << 3) >>> res.logBits);
+            if (res.data.get(ValueLayout.JAVA_INT_UNALIGNED, 0) != MAGIC) {
+                throw new IllegalArgumentException("Not a number list file: " + file);
+            }
+            int storedBase = res.data.get(ValueLayout.JAVA_INT_UNALIGNED, 4);
+            long storedSize = res.data.get(ValueLayout.JAVA_LONG_UNALIGNED, 8);
+            if (storedBase != base) {
+                throw new IllegalArgumentException("File holds base " + storedBase + ", not " + base);
+            }
+            if (storedSize < 0 || storedSize > res.capacity) {
+                throw new IllegalArgumentException("Corrupted number list file: " + file);
+            }
+            res.size = (int) storedSize;
+            if (!res.validDigits()) {
+                throw new IllegalArgumentException("Corrupted number list file: " + file);
+            }
+            return res;
+        } catch (IOException | RuntimeException e) {
+            // leave the file as it was
+            if (res.arena != null) {
+                res.arena.close();
+                res.arena = null;
+            }
+            try {
+                ch.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException("Cannot map file", e);
+        }
+    }
+
+    /**
+     * Releases native memory or unmaps the file. Idempotent.
+     */
+    @Override
+    public void close() {
+        if (arena == null) {
+            return;
+        }
+        arena.close();
+        arena = null;
+        data = null;
+        if (channel != null) {
+            try {
+                channel.truncate(HEADER + bytes(size));
+                channel.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot write to file", e);
+            }
+        }
+    }
+
+    /**
+     * Returns scale of notation of the stored number.
+     *
+     * @return scale of notation.
+     */
+    public int getBase() {
+        return base;
+    }
+
+    /**
+     * Returns new list which represents the same number in other scale of
+     * notation, defined by personal test assignment. Result is allocated
+     * off heap and has to be closed by the caller.
+     *
+     * @return <tt>OffHeapNumberList</tt> in scale of notation 8.
+     */
+    public OffHeapNumberList changeScale() {
+        checkOpen();
+        OffHeapNumberList res = new OffHeapNumberList(8);
+        res.assign(toBigInteger());
+        return res;
+    }
+
+    /**
+     * Returns new list which represents the remainder of division of this
+     * number by <tt>arg</tt>, in the scale of notation of this list.
+     * Result is allocated off heap and has to be closed by the caller.
+     *
+     * @param arg - divisor.
+     * @return result of additional operation.
+     */
+    public OffHeapNumberList additionalOperation(NumberList arg) {
+        if (arg == null) {
+            throw new IllegalArgumentException("arg is null");
+        }
+        checkOpen();
+        BigInteger b = arg instanceof OffHeapNumberList
+                ? ((OffHeapNumberList) arg).toBigInteger()
+                : NumberListImpl.bigIntegerOf(arg);
+        if (b.signum() == 0) {
+            throw new ArithmeticException("Division by zero in additionalOperation");
+        }
+        OffHeapNumberList res = new OffHeapNumberList(base);
+        res.assign(toBigInteger().mod(b));
+        return res;
+    }
+
+    /**
+     * Returns string representation of number in <b>decimal</b> scale of
+     * notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return RadixConversion.toDecimalString(toBigInteger());
+    }
+
+    /**
+     * Returns value of the stored number.
+     *
+     * @return the number.
+     */
+    public BigInteger toBigInteger() {
+        checkOpen();
+        if (size == 0) {
+            return BigInteger.ZERO;
+        }
+        return new Conversion().combine(0, size);
+    }
+
+
+    @Override
+    public String toString() {
+        checkOpen();
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; ++i) {
+            sb.append(Character.toUpperCase(Character.forDigit(digit(i), base)));
+        }
+        return sb.toString();
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkIndex(index);
+        return (byte) digit(index);
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkIndex(index);
+        checkDigit(element);
+        byte old = (byte) digit(index);
+        setDigit(index, element);
+        return old;
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        checkDigit(e);
+        ensureCapacity((long) size + 1);
+        setDigit(size++, e);
+        modCount++;
+        writeSize();
+        return true;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkDigit(element);
+        ensureCapacity((long) size + 1);
+        for (long i = size; i > index; --i) {
+            setDigit(i, digit(i - 1));
+        }
+        setDigit(index, element);
+        size++;
+        modCount++;
+        writeSize();
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkIndex(index);
+        byte old = (byte) digit(index);
+        for (long i = index; i < size - 1; ++i) {
+            setDigit(i, digit(i + 1));
+        }
+        size--;
+        modCount++;
+        writeSize();
+        return old;
+    }
+
+
+    @Override
+    public void clear() {
+        checkOpen();
+        size = 0;
+        modCount++;
+        writeSize();
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        checkOpen();
+        if (!(o instanceof Byte) || (Byte) o < 0 || (Byte) o >= base) {
+            return -1;
+        }
+        int d = (Byte) o;
+        long full = fullBytes();
+        byte[] buf = new byte[(int) Math.min(full, BLOCK)];
+        for (long pos = 0; pos < full; pos += buf.length) {
+            int n = load(buf, pos, full);
+            int hit = DigitKernels.indexOfPacked(buf, 0, n, 1 << logBits, d);
+            if (hit >= 0) {
+                long i = (pos + hit) << (3 - logBits);
+                while (digit(i) != d) i++;
+                return (int) i;
+            }
+        }
+        for (long i = full << (3 - logBits); i < size; ++i) {
+            if (digit(i) == d) return (int) i;
+        }
+        return -1;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof OffHeapNumberList) || ((OffHeapNumberList) o).base != base) {
+            return super.equals(o);
+        }
+        OffHeapNumberList other = (OffHeapNumberList) o;
+        checkOpen();
+        other.checkOpen();
+        if (other.size != size) {
+            return false;
+        }
+        long full = fullBytes();
+        if (MemorySegment.mismatch(data, offset, offset + full,
+                other.data, other.offset, other.offset + full) >= 0) {
+            return false;
+        }
+        for (long i = full << (3 - logBits); i < size; ++i) {
+            if (digit(i) != other.digit(i)) return false;
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        checkIndex(index1);
+        checkIndex(index2);
+        int d = digit(index1);
+        setDigit(index1, digit(index2));
+        setDigit(index2, d);
+        return true;
+    }
+
+
+    @Override
+    public void sortAscending() {
+        sort(true);
+    }
+
+
+    @Override
+    public void sortDescending() {
+        sort(false);
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        checkOpen();
+        if (size <= 1) return;
+        int first = digit(0);
+        for (long i = 0; i < size - 1; ++i) {
+            setDigit(i, digit(i + 1));
+        }
+        setDigit(size - 1, first);
+    }
+
+
+    @Override
+    public void shiftRight() {
+        checkOpen();
+        if (size <= 1) return;
+        int last = digit(size - 1);
+        for (long i = size - 1; i > 0; --i) {
+            setDigit(i, digit(i - 1));
+        }
+        setDigit(0, last);
+    }
+
+    /**
+     * Counting sort, rewriting digits in place.
+     */
+    private void sort(boolean ascending) {
+        checkOpen();
+        long[] counts = new long[base];
+        long full = fullBytes();
+        byte[] buf = new byte[(int) Math.min(full, BLOCK)];
+        for (long pos = 0; pos < full; pos += buf.length) {
+            DigitKernels.countPacked(buf, 0, load(buf, pos, full), 1 << logBits, counts);
+        }
+        for (long i = full << (3 - logBits); i < size; ++i) {
+            counts[digit(i)]++;
+        }
+        long pos = 0;
+        for (int k = 0; k < base; ++k) {
+            int d = ascending ? k : base - 1 - k;
+            fill(pos, pos + counts[d], d);
+            pos += counts[d];
+        }
+    }
+
+    /**
+     * Sets digits <tt>[from..to)</tt> to <tt>d</tt>, filling whole bytes
+     * at once.
+     */
+    private void fill(long from, long to, int d) {
+        long perByte = 8 >>> logBits;
+        while (from < to && from % perByte != 0) {
+            setDigit(from++, d);
+        }
+        long bytes = (to - from) / perByte;
+        if (bytes > 0) {
+            int pattern = 0;
+            for (int shift = 0; shift < 8; shift += 1 << logBits) {
+                pattern |= d << shift;
+            }
+            data.asSlice(offset + from / perByte, bytes).fill((byte) pattern);
+            from += bytes * perByte;
+        }
+        while (from < to) {
+            setDigit(from++, d);
+        }
+    }
+
+    /**
+     * Returns whether all stored digits are less than the base.
+     */
+    private boolean validDigits() {
+        long full = fullBytes();
+        byte[] buf = new byte[(int) Math.min(full, BLOCK)];
+        for (long pos = 0; pos < full; pos += buf.length) {
+            int n = load(buf, pos, full);
+            if (DigitKernels.firstInvalidPacked(buf, 0, n, 1 << logBits, base) >= 0) {
+                return false;
+            }
+        }
+        for (long i = full << (3 - logBits); i < size; ++i) {
+            if (digit(i) >= base) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns number of bytes holding whole digits only.
+     */
+    private long fullBytes() {
+        return (long) size >>> (3 - logBits);
+    }
+
+    /**
+     * Copies packed bytes <tt>[pos..min(pos + buf.length, end))</tt> into
+     * <tt>buf</tt>. Returns number of copied bytes.
+     */
+    private int load(byte[] buf, long pos, long end) {
+        int n = (int) Math.min(buf.length, end - pos);
+        MemorySegment.copy(data, ValueLayout.JAVA_BYTE, offset + pos, buf, 0, n);
+        return n;
+    }
+
+    /**
+     * Replaces content with digits of non-negative <tt>value</tt>, without
+     * leading zeros.
+     */
+    private void assign(BigInteger value) {
+        long n = value.signum() == 0 ? 1 : RadixConversion.digitsFor(value.bitLength(), base);
+        if (n > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Too many digits");
+        }
+        ensureCapacity(n);
+        new Conversion().split(value, 0, n);
+        long zeros = 0;
+        while (zeros < n - 1 && digit(zeros) == 0) zeros++;
+        if (zeros > 0) {
+            for (long i = zeros; i < n; ++i) {
+                setDigit(i - zeros, digit(i));
+            }
+        }
+        size = (int) (n - zeros);
+        modCount++;
+        writeSize();
+    }
+
+    /**
+     * Block-wise conversion between the stored digits and
+     * <tt>BigInteger</tt>. Blocks of up to <tt>BLOCK</tt> digits are copied
+     * into a heap buffer and converted by <tt>RadixConversion</tt>; blocks
+     * are joined and separated at powers
+     * <tt>base<sup>BLOCK&middot;2<sup>k</sup></sup></tt>.
+     */
+    private final class Conversion {
+        final byte[] buf = new byte[BLOCK];
+        BigInteger[] powers = new BigInteger[0];
+
+        BigInteger combine(long from, long to) {
+            long len = to - from;
+            if (len <= BLOCK) {
+                for (int i = 0; i < len; ++i) {
+                    buf[i] = (byte) digit(from + i);
+                }
+                return RadixConversion.toBigInteger(buf, 0, (int) len, base);
+            }
+            int k = level(len);
+            long low = (long) BLOCK << k;
+            BigInteger hi = combine(from, to - low);
+            BigInteger lo = combine(to - low, to);
+            if (hi.signum() == 0) {
+                return lo;
+            }
+            return Integer.bitCount(base) == 1
+                    ? hi.shiftLeft(Math.toIntExact(low * Integer.numberOfTrailingZeros(base))).or(lo)
+                    : hi.multiply(power(k)).add(lo);
+        }
+
+        void split(BigInteger value, long from, long to) {
+            long len = to - from;
+            if (len <= BLOCK) {
+                RadixConversion.toDigits(value, base, buf, 0, (int) len);
+                for (int i = 0; i < len; ++i) {
+                    setDigit(from + i, buf[i]);
+                }
+                return;
+            }
+            int k = level(len);
+            long low = (long) BLOCK << k;
+            BigInteger hi;
+            BigInteger lo;
+            if (Integer.bitCount(base) == 1) {
+                int bits = Math.toIntExact(low * Integer.numberOfTrailingZeros(base));
+                hi = value.shiftRight(bits);
+                lo = value.subtract(hi.shiftLeft(bits));
+            } else {
+                BigInteger[] qr = value.divideAndRemainder(power(k));
+                hi = qr[0];
+                lo = qr[1];
+            }
+            split(hi, from, to - low);
+            split(lo, to - low, to);
+        }
+
+        /**
+         * Returns largest <tt>k</tt> with <tt>BLOCK&middot;2<sup>k</sup> &lt; len</tt>.
+         */
+        int level(long len) {
+            int k = 0;
+            while ((long) BLOCK << (k + 1) < len) k++;
+            return k;
+        }
+
+        BigInteger power(int k) {
+            if (k >= powers.length) {
+                int n = powers.length;
+                powers = Arrays.copyOf(powers, k + 1);
+                for (int i = n; i <= k; ++i) {
+                    powers[i] = i == 0 ? BigInteger.valueOf(base).pow(BLOCK) : powers[i - 1].multiply(powers[i - 1]);
+                }
+            }
+            return powers[k];
+        }
+    }
+
+    private int digit(long index) {
+        long bit = index << logBits;
+        int b = data.get(ValueLayout.JAVA_BYTE, offset + (bit >>> 3));
+        return (b >>> (bit & 7)) & mask;
+    }
+
+    private void setDigit(long index, int d) {
+        long bit = index << logBits;
+        long pos = offset + (bit >>> 3);
+        int shift = (int) (bit & 7);
+        int b = data.get(ValueLayout.JAVA_BYTE, pos);
+        data.set(ValueLayout.JAVA_BYTE, pos, (byte) ((b & ~(mask << shift)) | (d << shift)));
+    }
+
+    private long bytes(long digits) {
+        return ((digits << logBits) + 7) >>> 3;
+    }
+
+    private void ensureCapacity(long digits) {
+        checkOpen();
+        if (digits > capacity) {
+            allocate(Math.max(digits, capacity * 2));
+        }
+    }
+
+    /**
+     * Moves content into new memory of <tt>digits</tt> capacity and frees
+     * the old one. Mapped files are remapped, which extends them.
+     */
+    private void allocate(long digits) {
+        Arena next = Arena.ofShared();
+        MemorySegment segment;
+        try {
+            segment = channel == null
+                    ? next.allocate(bytes(digits))
+                    : channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + bytes(digits), next);
+        } catch (IOException | RuntimeException e) {
+            next.close();
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException("Cannot map file", e);
+        }
+        if (arena != null) {
+            if (channel == null) {
+                MemorySegment.copy(data, 0, segment, 0, bytes(size));
+            }
+            arena.close();
+        }
+        arena = next;
+        data = segment;
+        capacity = digits;
+    }
+
+    private void writeSize() {
+        if (channel != null) {
+            data.set(ValueLayout.JAVA_LONG_UNALIGNED, 8, size);
+        }
+    }
+
+    private void checkOpen() {
+        if (arena == null) throw new IllegalStateException("OffHeapNumberList is closed");
+    }
+
+    private void checkIndex(int index) {
+        checkOpen();
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException();
+    }
+
+    private void checkDigit(Byte d) {
+        if (d == null) throw new NullPointerException();
+        if (d < 0 || d >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
+    }
+}
@@ -0,0 +1,680 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Immutable persistent <tt>NumberList</tt>.<p>
+ *
+ * Digits are kept in a height-balanced (AVL) rope ordered by position.
+ * {@link #with}, {@link #insert}, {@link #without}, {@link #rotate} and
+ * {@link #concat} return new versions in O(log n) and share all unchanged
+ * subtrees with the original, so instances may be published between
+ * threads without copying or locking.<p>
+ *
+ * All mutators of <tt>List</tt> and <tt>NumberList</tt> throw
+ * <tt>UnsupportedOperationException</tt>.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public final class PersistentNumberList implements NumberList {
+
+    /**
+     * Immutable rope node. Holds single digit between left and right parts.
+     */
+    private static final class Tree {
+        final Tree left;
+        final Tree right;
+        final byte digit;
+        final int size;
+        final int height;
+
+        Tree(Tree left, byte digit, Tree right) {
+            this.left = left;
+            this.right = right;
+            this.digit = digit;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private static final PersistentNumberList EMPTY = new PersistentNumberList(null, 3);
+
+    private final Tree root;
+    private final int base;
+
+    private PersistentNumberList(Tree root, int base) {
+        this.root = root;
+        this.base = base;
+    }
+
+    /**
+     * Returns empty list in the default scale of notation.
+     *
+     * @return empty <tt>PersistentNumberList</tt>.
+     */
+    public static PersistentNumberList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns persistent copy of the specified list. Copy of
+     * <tt>NumberListImpl</tt> keeps its scale of notation; digits of other
+     * lists are taken in the default scale and validated against it.
+     *
+     * @param list - list to be copied.
+     * @return <tt>PersistentNumberList</tt> with the same digits.
+     * @throws NullPointerException if the list holds a <tt>null</tt> digit.
+     * @throws IllegalArgumentException if a digit is out of range.
+     */
+    public static PersistentNumberList of(NumberList list) {
+        if (list == null) {
+            throw new IllegalArgumentException("list is null");
+        }
+        if (list instanceof PersistentNumberList) {
+            return (PersistentNumberList) list;
+        }
+        if (list instanceof NumberListImpl) {
+            NumberListImpl impl = (NumberListImpl) list;
+            byte[] digits = impl.toDigitArray();
+            return new PersistentNumberList(build(digits, 0, digits.length), impl.base());
+        }
+        Object[] elements = list.toArray();
+        byte[] digits = new byte[elements.length];
+        for (int i = 0; i < elements.length; ++i) {
+            if (elements[i] == null) throw new NullPointerException();
+            digits[i] = (Byte) elements[i];
+        }
+        if (DigitKernels.firstInvalid(digits, 0, digits.length, 3) >= 0) {
+            throw new IllegalArgumentException("Digit out of range for base 3");
+        }
+        return new PersistentNumberList(build(digits, 0, digits.length), 3);
+    }
+
+    /**
+     * Returns mutable <tt>NumberListImpl</tt> with the same digits and scale
+     * of notation.
+     *
+     * @return new <tt>NumberListImpl</tt>.
+     */
+    public NumberListImpl toNumberList() {
+        return NumberListImpl.fromDigits(toDigits(), base);
+    }
+
+    /**
+     * Returns new version with digit at specified position replaced.
+     *
+     * @param index - position of digit
+     * @param digit - new digit
+     * @return new version of the list.
+     */
+    public PersistentNumberList with(int index, byte digit) {
+        checkIndex(index);
+        checkDigit(digit);
+        return new PersistentNumberList(set(root, index, digit), base);
+    }
+
+    /**
+     * Returns new version with digit inserted at specified position.
+     *
+     * @param index - position of new digit, from 0 to size inclusive
+     * @param digit - digit to insert
+     * @return new version of the list.
+     */
+    public PersistentNumberList insert(int index, byte digit) {
+        if (index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        checkDigit(digit);
+        Tree[] p = split(root, index);
+        return new PersistentNumberList(join(p[0], digit, p[1]), base);
+    }
+
+    /**
+     * Returns new version with digit appended as the least significant one.
+     *
+     * @param digit - digit to append
+     * @return new version of the list.
+     */
+    public PersistentNumberList append(byte digit) {
+        return insert(size(), digit);
+    }
+
+    /**
+     * Returns new version without digit at specified position.
+     *
+     * @param index - position of digit to remove
+     * @return new version of the list.
+     */
+    public PersistentNumberList without(int index) {
+        checkIndex(index);
+        Tree[] p = split(root, index);
+        Tree[] q = split(p[1], 1);
+        return new PersistentNumberList(join2(p[0], q[1]), base);
+    }
+
+    /**
+     * Returns new version cyclically shifted to the left by
+     * <tt>distance</tt> positions. Negative distance shifts to the right.
+     *
+     * @param distance - number of positions
+     * @return new version of the list.
+     */
+    public PersistentNumberList rotate(int distance) {
+        int n = size();
+        if (n <= 1) return this;
+        int k = Math.floorMod(distance, n);
+        if (k == 0) return this;
+        Tree[] p = split(root, k);
+        return new PersistentNumberList(join2(p[1], p[0]), base);
+    }
+
+    /**
+     * Returns concatenation of this list and the specified one.
+     * Both lists have to be in the same scale of notation.
+     *
+     * @param other - list of less significant digits
+     * @return new version of the list.
+     */
+    public PersistentNumberList concat(PersistentNumberList other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other is null");
+        }
+        if (other.root != null && root != null && other.base != base) {
+            throw new IllegalArgumentException("Scales of notation differ");
+        }
+        if (root == null) return other;
+        return new PersistentNumberList(join2(root, other.root), base);
+    }
+
+    /**
+     * @see NumberListImpl#toDecimalString()
+     */
+    public String toDecimalString() {
+        return toNumberList().toDecimalString();
+    }
+
+    /**
+     * @see NumberListImpl#changeScale()
+     */
+    public PersistentNumberList changeScale() {
+        return of(toNumberList().changeScale());
+    }
+
+    /**
+     * @see NumberListImpl#additionalOperation(NumberList)
+     */
+    public PersistentNumberList additionalOperation(NumberList arg) {
+        if (arg instanceof PersistentNumberList) {
+            arg = ((PersistentNumberList) arg).toNumberList();
+        }
+        return of(toNumberList().additionalOperation(arg));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+    }
+
+    private void checkDigit(byte digit) {
+        if (digit < 0 || digit >= base) throw new IllegalArgumentException("Digit out of range for base " + base);
+    }
+
+    private byte[] toDigits() {
+        byte[] res = new byte[size()];
+        int i = 0;
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ) {
+            res[i++] = it.next();
+        }
+        return res;
+    }
+
+    // Rope primitives. Every one of them allocates only along a single path.
+
+    private static int size(Tree t) {
+        return t == null ? 0 : t.size;
+    }
+
+    private static int height(Tree t) {
+        return t == null ? 0 : t.height;
+    }
+
+    private static Tree build(byte[] digits, int from, int to) {
+        if (from >= to) return null;
+        int mid = (from + to) >>> 1;
+        return new Tree(build(digits, from, mid), digits[mid], build(digits, mid + 1, to));
+    }
+
+    private static byte get(Tree t, int index) {
+        while (true) {
+            int ls = size(t.left);
+            if (index < ls) {
+                t = t.left;
+            } else if (index == ls) {
+                return t.digit;
+            } else {
+                index -= ls + 1;
+                t = t.right;
+            }
+        }
+    }
+
+    private static Tree set(Tree t, int index, byte digit) {
+        int ls = size(t.left);
+        if (index < ls) return new Tree(set(t.left, index, digit), t.digit, t.right);
+        if (index == ls) return new Tree(t.left, digit, t.right);
+        return new Tree(t.left, t.digit, set(t.right, index - ls - 1, digit));
+    }
+
+    private static Tree rotateLeft(Tree t) {
+        Tree r = t.right;
+        return new Tree(new Tree(t.left, t.digit, r.left), r.digit, r.right);
+    }
+
+    private static Tree rotateRight(Tree t) {
+        Tree l = t.left;
+        return new Tree(l.left, l.digit, new Tree(l.right, t.digit, t.right));
+    }
+
+    /**
+     * Creates node from parts whose heights differ by at most two.
+     */
+    private static Tree balance(Tree l, byte digit, Tree r) {
+        int hl = height(l);
+        int hr = height(r);
+        if (hl > hr + 1) {
+            if (height(l.left) < height(l.right)) {
+                l = rotateLeft(l);
+            }
+            return rotateRight(new Tree(l, digit, r));
+        }
+        if (hr > hl + 1) {
+            if (height(r.right) < height(r.left)) {
+                r = rotateRight(r);
+            }
+            return rotateLeft(new Tree(l, digit, r));
+        }
+        return new Tree(l, digit, r);
+    }
+
+    /**
+     * Joins ropes of arbitrary heights around single digit in
+     * O(|height(l) - height(r)| + 1).
+     */
+    private static Tree join(Tree l, byte digit, Tree r) {
+        if (height(l) > height(r) + 1) {
+            return balance(l.left, l.digit, join(l.right, digit, r));
+        }
+        if (height(r) > height(l) + 1) {
+            return balance(join(l, digit, r.left), r.digit, r.right);
+        }
+        return new Tree(l, digit, r);
+    }
+
+    private static Tree join2(Tree l, Tree r) {
+        if (l == null) return r;
+        if (r == null) return l;
+        Tree[] p = split(r, 1);
+        return join(l, p[0].digit, p[1]);
+    }
+
+    /**
+     * Splits rope into first <tt>index</tt> digits and the rest.
+     */
+    private static Tree[] split(Tree t, int index) {
+        if (t == null) return new Tree[] {null, null};
+        int ls = size(t.left);
+        if (index <= ls) {
+            Tree[] p = split(t.left, index);
+            p[1] = join(p[1], t.digit, t.right);
+            return p;
+        }
+        Tree[] p = split(t.right, index - ls - 1);
+        p[0] = join(t.left, t.digit, p[0]);
+        return p;
+    }
+
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new RopeIterator(0);
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] arr = new Object[size()];
+        int i = 0;
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ) {
+            arr[i++] = it.next();
+        }
+        return arr;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        int n = size();
+        T[] arr = a.length >= n
+                ? a
+                : (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), n);
+        int i = 0;
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ) {
+            arr[i++] = (T) it.next();
+        }
+        if (arr.length > n) arr[n] = null;
+        return arr;
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c == null) throw new NullPointerException();
+        for (Object o : c) {
+            if (!contains(o)) return false;
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Byte> c) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkIndex(index);
+        return get(root, index);
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+        byte v = (Byte) o;
+        int i = 0;
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ++i) {
+            if (it.next() == v) return i;
+        }
+        return -1;
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+        byte v = (Byte) o;
+        for (ListIterator<Byte> it = listIterator(size()); it.hasPrevious(); ) {
+            if (it.previous() == v) return it.nextIndex();
+        }
+        return -1;
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator() {
+        return new RopeIterator(0);
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator(int index) {
+        if (index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        return new RopeIterator(index);
+    }
+
+
+    @Override
+    public List<Byte> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException();
+        Tree[] p = split(root, toIndex);
+        Tree[] q = split(p[0], fromIndex);
+        return new PersistentNumberList(q[1], base);
+    }
+
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void sortAscending() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void sortDescending() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public void shiftRight() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberList)) return false;
+        NumberList other = (NumberList) o;
+        if (other.size() != size()) return false;
+        Iterator<Byte> a = iterator();
+        Iterator<Byte> b = other.iterator();
+        while (a.hasNext()) {
+            if (!a.next().equals(b.next())) return false;
+        }
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ) {
+            h = 31 * h + it.next();
+        }
+        return h;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size());
+        for (Iterator<Byte> it = iterator(); it.hasNext(); ) {
+            sb.append(Character.toUpperCase(Character.forDigit(it.next(), base)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Bidirectional in-order iterator. Keeps path from the root to the
+     * next node, so every step costs amortized O(1).
+     */
+    private class RopeIterator implements ListIterator<Byte> {
+
+        private final Tree[] path = new Tree[height(root) + 1];
+        private int depth;
+        private int cursor;
+
+        RopeIterator(int index) {
+            seek(index);
+        }
+
+        /**
+         * Rebuilds path to the node at <tt>index</tt>. Path of a node
+         * consists of its ancestors where it lies in the left subtree,
+         * with the node itself on top.
+         */
+        private void seek(int index) {
+            cursor = index;
+            depth = 0;
+            Tree t = root;
+            while (t != null && index < size()) {
+                int ls = size(t.left);
+                if (index < ls) {
+                    path[depth++] = t;
+                    t = t.left;
+                } else if (index == ls) {
+                    path[depth++] = t;
+                    return;
+                } else {
+                    index -= ls + 1;
+                    t = t.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public Byte next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Tree t = path[--depth];
+            byte v = t.digit;
+            for (Tree c = t.right; c != null; c = c.left) {
+                path[depth++] = c;
+            }
+            cursor++;
+            return v;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Byte previous() {
+            if (!hasPrevious()) throw new NoSuchElementException();
+            byte v = get(root, cursor - 1);
+            seek(cursor - 1);
+            return v;
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
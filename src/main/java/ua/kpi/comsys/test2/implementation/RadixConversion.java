@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conversions between digit arrays (most significant digit first) and
+ * <tt>BigInteger</tt> in bases 2 to 16.<p>
+ *
+ * Peeling one digit at a time costs O(n) per digit and O(n<sup>2</sup>) in
+ * total. Here digits are split in halves at powers
+ * <tt>base<sup>chunk&middot;2<sup>k</sup></sup></tt>, so the work is
+ * dominated by a few multiplications and divisions of full-size numbers,
+ * which <tt>BigInteger</tt> does in subquadratic time. Chunks of up to
+ * <tt>chunk</tt> digits fit into <tt>long</tt> and are converted with
+ * primitive arithmetic. Power-of-two bases are converted bitwise in linear
+ * time.<p>
+ *
+ * Numbers of at least {@link #parallelThreshold()} digits are converted
+ * by a tree of fork/join tasks in the common pool: both halves of a split
+ * are independent, so they are converted concurrently down to the
+ * threshold, below which tasks run the sequential code. Powers of the base
+ * are grown up front and shared by all tasks, multiplications of large
+ * halves use <tt>BigInteger.parallelMultiply</tt>.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class RadixConversion {
+
+    /**
+     * Largest number of digits such that <tt>base<sup>chunk</sup></tt>
+     * fits into <tt>long</tt>, by base.
+     */
+    private static final int[] CHUNK = new int[17];
+
+    /**
+     * <tt>POWERS[base][k] = base<sup>CHUNK[base]&middot;2<sup>k</sup></sup></tt>,
+     * grown on demand. Arrays are replaced as a whole, never modified.
+     */
+    private static final AtomicReferenceArray<BigInteger[]> POWERS = new AtomicReferenceArray<>(17);
+
+    /**
+     * Default {@link #parallelThreshold()}: conversions stay sequential
+     * on a single processor.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD =
+            Runtime.getRuntime().availableProcessors() > 1 ? 1 << 16 : Integer.MAX_VALUE;
+
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    static {
+        for (int b = 2; b <= 16; ++b) {
+            int c = 0;
+            for (long p = 1; p <= Long.MAX_VALUE / b; p *= b) c++;
+            CHUNK[b] = c;
+            POWERS.set(b, new BigInteger[] {BigInteger.valueOf(b).pow(c)});
+        }
+    }
+
+    private RadixConversion() {
+    }
+
+    /**
+     * Returns number of digits from which conversions are parallel; it is
+     * also the size of the smallest part converted by a single task.
+     */
+    static int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    static void setParallelThreshold(int digits) {
+        if (digits < 1) {
+            throw new IllegalArgumentException("Threshold has to be positive: " + digits);
+        }
+        parallelThreshold = digits;
+    }
+
+    /**
+     * Returns value of digits <tt>digits[from..to)</tt> in specified base.
+     */
+    static BigInteger toBigInteger(byte[] digits, int from, int to, int base) {
+        if (Integer.bitCount(base) == 1) {
+            return packBits(digits, from, to, Integer.numberOfTrailingZeros(base));
+        }
+        return combineAny(digits, from, to, base);
+    }
+
+    /**
+     * Parses non-empty string of decimal digits. Any character
+     * <tt>Character.digit(c, 10)</tt> accepts is a digit, including
+     * non-ASCII decimal digits, as in <tt>BigInteger(String)</tt>.
+     *
+     * @throws NumberFormatException if <tt>s</tt> is empty or holds
+     *         anything else.
+     */
+    static BigInteger parseDecimal(String s) {
+        if (s.isEmpty()) {
+            throw new NumberFormatException("Invalid decimal string: " + s);
+        }
+        byte[] digits = new byte[s.length()];
+        for (int i = 0; i < digits.length; ++i) {
+            int d = Character.digit(s.charAt(i), 10);
+            if (d < 0) {
+                throw new NumberFormatException("Invalid decimal string: " + s);
+            }
+            digits[i] = (byte) d;
+        }
+        return combineAny(digits, 0, digits.length, 10);
+    }
+
+    /**
+     * Returns decimal notation of non-negative <tt>value</tt>.
+     */
+    static String toDecimalString(BigInteger value) {
+        int threshold = parallelThreshold;
+        int len = digitsFor(value.bitLength(), 10);
+        if (len < threshold) {
+            return value.toString();
+        }
+        byte[] digits = new byte[len];
+        splitAny(value, 10, digits, 0, len, threshold);
+        int pos = 0;
+        while (pos < len - 1 && digits[pos] == 0) pos++;
+        for (int i = pos; i < len; ++i) {
+            digits[i] += '0';
+        }
+        return new String(digits, pos, len - pos, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes non-negative <tt>value</tt> into <tt>digits[from..to)</tt>,
+     * padded with leading zeros. <tt>value</tt> has to be less than
+     * <tt>base<sup>to-from</sup></tt>.
+     */
+    static void toDigits(BigInteger value, int base, byte[] digits, int from, int to) {
+        if (Integer.bitCount(base) == 1) {
+            unpackBits(value, Integer.numberOfTrailingZeros(base), digits, from, to);
+        } else {
+            splitAny(value, base, digits, from, to, parallelThreshold);
+        }
+    }
+
+    /**
+     * Returns number of digits enough to write any number of
+     * <tt>bitLength</tt> bits in specified base.
+     */
+    static int digitsFor(int bitLength, int base) {
+        return (int) (bitLength / (Math.log(base) / Math.log(2))) + 2;
+    }
+
+    private static BigInteger combineAny(byte[] digits, int from, int to, int base) {
+        int threshold = parallelThreshold;
+        if (to - from < threshold) {
+            return combine(digits, from, to, base);
+        }
+        power(base, level(to - from, CHUNK[base]));
+        return ForkJoinPool.commonPool().invoke(new Combine(digits, from, to, base, threshold));
+    }
+
+    private static void splitAny(BigInteger value, int base, byte[] digits, int from, int to, int threshold) {
+        if (to - from < threshold) {
+            split(value, base, digits, from, to);
+            return;
+        }
+        power(base, level(to - from, CHUNK[base]));
+        ForkJoinPool.commonPool().invoke(new Split(value, base, digits, from, to, threshold));
+    }
+
+    private static BigInteger combine(byte[] digits, int from, int to, int base) {
+        int len = to - from;
+        int chunk = CHUNK[base];
+        if (len <= chunk) {
+            long v = 0;
+            for (int i = from; i < to; ++i) {
+                v = v * base + digits[i];
+            }
+            return BigInteger.valueOf(v);
+        }
+        int k = level(len, chunk);
+        int low = chunk << k;
+        BigInteger hi = combine(digits, from, to - low, base);
+        BigInteger lo = combine(digits, to - low, to, base);
+        return hi.signum() == 0 ? lo : hi.multiply(power(base, k)).add(lo);
+    }
+
+    private static void split(BigInteger value, int base, byte[] digits, int from, int to) {
+        int len = to - from;
+        int chunk = CHUNK[base];
+        if (value.signum() == 0) {
+            Arrays.fill(digits, from, to, (byte) 0);
+            return;
+        }
+        if (len <= chunk) {
+            long v = value.longValue();
+            for (int i = to - 1; i >= from; --i) {
+                digits[i] = (byte) (v % base);
+                v /= base;
+            }
+            return;
+        }
+        int k = level(len, chunk);
+        int low = chunk << k;
+        BigInteger[] qr = value.divideAndRemainder(power(base, k));
+        split(qr[0], base, digits, from, to - low);
+        split(qr[1], base, digits, to - low, to);
+    }
+
+    /**
+     * Parallel {@link #combine}: the high half is forked, the low half is
+     * computed by the current task.
+     */
+    private static final class Combine extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] digits;
+        private final int from;
+        private final int to;
+        private final int base;
+        private final int threshold;
+
+        Combine(byte[] digits, int from, int to, int base, int threshold) {
+            this.digits = digits;
+            this.from = from;
+            this.to = to;
+            this.base = base;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            int len = to - from;
+            if (len < threshold || len <= CHUNK[base]) {
+                return combine(digits, from, to, base);
+            }
+            int k = level(len, CHUNK[base]);
+            int low = CHUNK[base] << k;
+            Combine high = new Combine(digits, from, to - low, base, threshold);
+            high.fork();
+            BigInteger lo = new Combine(digits, to - low, to, base, threshold).compute();
+            BigInteger hi = high.join();
+            return hi.signum() == 0 ? lo : hi.parallelMultiply(power(base, k)).add(lo);
+        }
+    }
+
+    /**
+     * Parallel {@link #split}: the quotient and the remainder are written
+     * by independent tasks.
+     */
+    private static final class Split extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger value;
+        private final int base;
+        private final byte[] digits;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Split(BigInteger value, int base, byte[] digits, int from, int to, int threshold) {
+            this.value = value;
+            this.base = base;
+            this.digits = digits;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int len = to - from;
+            if (len < threshold || len <= CHUNK[base] || value.signum() == 0) {
+                split(value, base, digits, from, to);
+                return;
+            }
+            int k = level(len, CHUNK[base]);
+            int low = CHUNK[base] << k;
+            BigInteger[] qr = value.divideAndRemainder(power(base, k));
+            invokeAll(new Split(qr[0], base, digits, from, to - low, threshold),
+                    new Split(qr[1], base, digits, to - low, to, threshold));
+        }
+    }
+
+    /**
+     * Returns largest <tt>k</tt> with <tt>chunk&middot;2<sup>k</sup> &lt; len</tt>.
+     */
+    private static int level(int len, int chunk) {
+        int k = 0;
+        while ((long) chunk << (k + 1) < len) k++;
+        return k;
+    }
+
+    private static BigInteger power(int base, int k) {
+        BigInteger[] powers = POWERS.get(base);
+        if (k < powers.length) {
+            return powers[k];
+        }
+        synchronized (POWERS) {
+            powers = POWERS.get(base);
+            if (k >= powers.length) {
+                int n = powers.length;
+                powers = Arrays.copyOf(powers, k + 1);
+                for (int i = n; i <= k; ++i) {
+                    powers[i] = powers[i - 1].multiply(powers[i - 1]);
+                }
+                POWERS.set(base, powers);
+            }
+            return powers[k];
+        }
+    }
+
+    private static BigInteger packBits(byte[] digits, int from, int to, int shift) {
+        long bits = (long) (to - from) * shift;
+        byte[] mag = new byte[(int) ((bits + 7) >>> 3) + 1];
+        long pos = 0;
+        for (int i = to - 1; i >= from; --i, pos += shift) {
+            int d = digits[i];
+            for (int j = 0; j < shift; ++j) {
+                if ((d >>> j & 1) != 0) {
+                    long bit = pos + j;
+                    mag[mag.length - 1 - (int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+                }
+            }
+        }
+        return new BigInteger(mag);
+    }
+
+    private static void unpackBits(BigInteger value, int shift, byte[] digits, int from, int to) {
+        byte[] mag = value.toByteArray();
+        long limit = (long) mag.length << 3;
+        long pos = 0;
+        for (int i = to - 1; i >= from; --i, pos += shift) {
+            int d = 0;
+            for (int j = 0; j < shift; ++j) {
+                long bit = pos + j;
+                if (bit < limit && (mag[mag.length - 1 - (int) (bit >>> 3)] >>> (bit & 7) & 1) != 0) {
+                    d |= 1 << j;
+                }
+            }
+            digits[i] = (byte) d;
+        }
+    }
+}
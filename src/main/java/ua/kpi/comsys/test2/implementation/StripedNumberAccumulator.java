@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Running total of non-negative numbers shared between threads, in the
+ * manner of <tt>java.util.concurrent.atomic.LongAdder</tt>.<p>
+ *
+ * Sum is spread over several cells holding partial sums as 64-bit limbs.
+ * Every thread adds into its own cell and moves to another one when it
+ * meets contention, so concurrent adders rarely wait for each other.
+ * Cells are combined only when the total is read. Like <tt>LongAdder</tt>,
+ * reads are not atomic snapshots when additions are still running.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+public class StripedNumberAccumulator {
+
+    /**
+     * Partial sum guarded by its own lock.
+     */
+    private static final class Cell {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] mag = Limbs.ZERO;
+    }
+
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+            () -> new int[] {mix(System.identityHashCode(Thread.currentThread()))});
+
+    private final Cell[] cells;
+    private final int base;
+
+    /**
+     * Constructs accumulator which returns its total in the default
+     * scale of notation of <tt>NumberListImpl</tt>.
+     */
+    public StripedNumberAccumulator() {
+        this(3);
+    }
+
+    /**
+     * Constructs accumulator which returns its total in specified scale
+     * of notation.
+     *
+     * @param base - scale of notation of {@link #toNumberList()} result,
+     *               from 2 to 16.
+     */
+    public StripedNumberAccumulator(int base) {
+        if (base < 2 || base > 16) {
+            throw new IllegalArgumentException("Unsupported base " + base);
+        }
+        this.base = base;
+        int n = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        cells = new Cell[n];
+        for (int i = 0; i < n; ++i) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * Adds number, stored in the list, to the total. Conversion of the
+     * list into limbs happens before any lock is taken.
+     *
+     * @param value - number to add.
+     */
+    public void add(NumberList value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        addLimbs(NumberListImpl.limbsOf(value));
+    }
+
+    /**
+     * Adds non-negative number to the total.
+     *
+     * @param value - number to add.
+     */
+    public void add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value");
+        }
+        addLimbs(new long[] {value});
+    }
+
+    private void addLimbs(long[] addend) {
+        int[] probe = PROBE.get();
+        Cell c = cells[probe[0] & (cells.length - 1)];
+        if (!c.lock.tryLock()) {
+            probe[0] = mix(probe[0] + 1);
+            c = cells[probe[0] & (cells.length - 1)];
+            c.lock.lock();
+        }
+        try {
+            c.mag = Limbs.addInto(c.mag, addend);
+        } finally {
+            c.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns current total. Cells are combined on every call.
+     *
+     * @return sum of all added numbers.
+     */
+    public BigInteger sum() {
+        long[] total = Limbs.ZERO;
+        for (Cell c : cells) {
+            c.lock.lock();
+            try {
+                total = Limbs.addInto(total, c.mag);
+            } finally {
+                c.lock.unlock();
+            }
+        }
+        return Limbs.toBigInteger(total);
+    }
+
+    /**
+     * Returns current total as new <tt>NumberListImpl</tt> in the configured
+     * scale of notation.
+     *
+     * @return sum of all added numbers.
+     */
+    public NumberListImpl toNumberList() {
+        return NumberListImpl.fromBigInteger(sum(), base);
+    }
+
+    /**
+     * Returns current total in <b>decimal</b> scale of notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return sum().toString();
+    }
+
+    /**
+     * Resets total to zero. Additions running concurrently may or may not
+     * be reflected in the result.
+     */
+    public void reset() {
+        for (Cell c : cells) {
+            c.lock.lock();
+            try {
+                c.mag = Limbs.ZERO;
+            } finally {
+                c.lock.unlock();
+            }
+        }
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API versions of the {@link DigitKernels} scans. Each step loads
+ * a register of the preferred width (16 to 64 bytes, i.e. up to 256 packed
+ * digits); packed fields are isolated by shifting and masking all lanes at
+ * once. The remainder shorter than a register goes to the scalar loops.<p>
+ *
+ * Loaded only when module <tt>jdk.incubator.vector</tt> is present.
+ *
+ * @author Illia Yurchenko
+ * @group IM-33
+ * @recordBook 8971
+ */
+final class VectorDigitKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorDigitKernels() {
+    }
+
+    static int firstInvalid(byte[] a, int from, int to, int base) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> m = ByteVector.fromArray(SPECIES, a, i)
+                    .compare(VectorOperators.UNSIGNED_GE, (byte) base);
+            if (m.anyTrue()) {
+                return i + m.firstTrue();
+            }
+        }
+        return DigitKernels.scalarFirstInvalid(a, i, to, base);
+    }
+
+    static int firstInvalidPacked(byte[] packed, int from, int to, int bits, int base) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> m = anyFieldAtLeast(ByteVector.fromArray(SPECIES, packed, i), bits, (byte) base);
+            if (m.anyTrue()) {
+                return i + m.firstTrue();
+            }
+        }
+        return DigitKernels.scalarFirstInvalidPacked(packed, i, to, bits, base);
+    }
+
+    static int indexOfPacked(byte[] packed, int from, int to, int bits, int digit) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> m = anyFieldEquals(ByteVector.fromArray(SPECIES, packed, i), bits, (byte) digit);
+            if (m.anyTrue()) {
+                return i + m.firstTrue();
+            }
+        }
+        return DigitKernels.scalarIndexOfPacked(packed, i, to, bits, digit);
+    }
+
+    static void countPacked(byte[] packed, int from, int to, int bits, long[] counts) {
+        byte mask = (byte) ((1 << bits) - 1);
+        int n = Math.min(counts.length, 1 << bits);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, packed, i);
+            for (int shift = 0; shift < 8; shift += bits) {
+                ByteVector field = v.lanewise(VectorOperators.LSHR, shift).and(mask);
+                for (int d = 0; d < n; ++d) {
+                    counts[d] += field.eq((byte) d).trueCount();
+                }
+            }
+        }
+        DigitKernels.scalarCountPacked(packed, i, to, bits, counts);
+    }
+
+    /**
+     * Returns lanes where any field equals <tt>value</tt>.
+     */
+    private static VectorMask<Byte> anyFieldEquals(ByteVector v, int bits, byte value) {
+        byte mask = (byte) ((1 << bits) - 1);
+        VectorMask<Byte> res = v.and(mask).eq(value);
+        for (int shift = bits; shift < 8; shift += bits) {
+            res = res.or(v.lanewise(VectorOperators.LSHR, shift).and(mask).eq(value));
+        }
+        return res;
+    }
+
+    /**
+     * Returns lanes where any field is not less than <tt>value</tt>.
+     */
+    private static VectorMask<Byte> anyFieldAtLeast(ByteVector v, int bits, byte value) {
+        byte mask = (byte) ((1 << bits) - 1);
+        VectorMask<Byte> res = v.and(mask).compare(VectorOperators.UNSIGNED_GE, value);
+        for (int shift = bits; shift < 8; shift += bits) {
+            res = res.or(v.lanewise(VectorOperators.LSHR, shift).and(mask)
+                    .compare(VectorOperators.UNSIGNED_GE, value));
+        }
+        return res;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures bytes allocated by the current thread around warmed-up
+ * operations and fails when the average per invocation exceeds the
+ * declared budget.<p>
+ *
+ * Operations run long enough to be compiled first, so the budget covers
+ * steady state only: allocations removed by escape analysis are not
+ * counted, one-off allocations (class loading, thread-local setup) are
+ * amortized over all invocations. Iterator objects, for example, are
+ * removed once traversal is compiled together with the caller.
+ */
+public class AllocationBudgetTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    static final int WARM_UP = 50_000;
+    static final int INVOCATIONS = 20_000;
+    static final int ROUNDS = 5;
+
+    /**
+     * Pause after warm-up, so background compiler threads can finish even
+     * when the warm-up loop keeps the only core busy.
+     */
+    static final long COMPILE_PAUSE_MILLIS = 100;
+
+    /** Zero-allocation budget; below one byte per invocation on average. */
+    static final double NONE = 0;
+
+    static volatile int sink;
+
+    private com.sun.management.ThreadMXBean threads;
+    private NumberListImpl list;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        list = new NumberListImpl(VALUE);
+        list.toString();
+    }
+
+    @Test
+    public void testGet() {
+        int mid = list.size() / 2;
+        assertBudget("get", NONE, () -> sink += list.get(mid));
+    }
+
+    @Test
+    public void testSet() {
+        int mid = list.size() / 2;
+        assertBudget("set", NONE, () -> sink += list.set(mid, list.get(mid)));
+    }
+
+    @Test
+    public void testContains() {
+        Byte two = (byte) 2;
+        assertBudget("contains", NONE, () -> sink += list.contains(two) ? 1 : 0);
+    }
+
+    @Test
+    public void testIterator() {
+        assertBudget("iterator", NONE, () -> {
+            int sum = 0;
+            Iterator<Byte> it = list.iterator();
+            while (it.hasNext()) {
+                sum += it.next();
+            }
+            sink += sum;
+        });
+    }
+
+    @Test
+    public void testSwap() {
+        int last = list.size() - 1;
+        assertBudget("swap", NONE, () -> list.swap(1, last));
+    }
+
+    @Test
+    public void testShiftLeft() {
+        assertBudget("shiftLeft", NONE, list::shiftLeft);
+    }
+
+    @Test
+    public void testSortAscending() {
+        assertBudget("sortAscending", NONE, list::sortAscending);
+    }
+
+    @Test
+    public void testAdditionalOperationIntoDest() {
+        NumberListImpl a = new NumberListImpl("9223372036854775807");
+        NumberListImpl b = new NumberListImpl("4294967311");
+        NumberListImpl dest = new NumberListImpl();
+        assertBudget("additionalOperation", NONE, () -> sink += a.additionalOperation(b, dest).size());
+    }
+
+    @Test
+    public void testChangeScaleIntoDest() {
+        NumberListImpl a = new NumberListImpl("9223372036854775807");
+        NumberListImpl dest = new NumberListImpl(VALUE);
+        dest.inflate();
+        a.changeScale(dest);
+        assertBudget("changeScale", NONE, () -> sink += a.changeScale(dest).size());
+    }
+
+    @Test
+    public void testDetectsAllocation() {
+        // digit array is too long to be replaced by escape analysis
+        double perInvocation = allocatedPerInvocation(() -> sink += list.toDigitArray().length);
+        assertTrue("allocated " + perInvocation, perInvocation >= list.size());
+    }
+
+    private void assertBudget(String name, double bytesPerInvocation, Runnable op) {
+        double perInvocation = allocatedPerInvocation(op);
+        assertTrue(String.format("%s allocates %.1f bytes per invocation, budget is %.1f",
+                        name, perInvocation, bytesPerInvocation),
+                perInvocation < bytesPerInvocation + 1);
+    }
+
+    /**
+     * Returns the lowest average over several rounds: a round may still
+     * run code compiled before escape analysis could apply (e.g. after
+     * on-stack replacement), while a real allocation shows in every round.
+     */
+    private double allocatedPerInvocation(Runnable op) {
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && best >= 1; ++round) {
+            for (int i = 0; i < WARM_UP; ++i) {
+                op.run();
+            }
+            pause();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < INVOCATIONS; ++i) {
+                op.run();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, (double) allocated / INVOCATIONS);
+        }
+        return best;
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(COMPILE_PAUSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
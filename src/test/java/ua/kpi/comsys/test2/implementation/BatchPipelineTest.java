@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ua.kpi.comsys.test2.implementation.BatchPipeline.Format;
+import ua.kpi.comsys.test2.implementation.BatchPipeline.Report;
+import ua.kpi.comsys.test2.implementation.BatchPipeline.Stage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchPipelineTest {
+    static final String DIVISOR = "1000000007";
+
+    @Test
+    public void testOrderedOutput() throws Exception {
+        Random rnd = new Random(8971);
+        String[] input = new String[1000];
+        String[] expected = new String[input.length];
+        NumberListImpl divisor = new NumberListImpl(DIVISOR);
+        for (int i = 0; i < input.length; ++i) {
+            input[i] = new BigInteger(1 + rnd.nextInt(300), rnd).toString();
+            expected[i] = new NumberListImpl(input[i]).additionalOperation(divisor).changeScale().toString();
+        }
+        BatchPipeline pipeline = new BatchPipeline(List.of(Stage.PARSE, Stage.MOD, Stage.SCALE, Stage.FORMAT),
+                divisor, Format.DIGITS, 4, 7, 3);
+        StringWriter out = new StringWriter();
+        Report report = pipeline.run(new BufferedReader(new StringReader(String.join("\n", input))), out);
+
+        assertEquals(String.join("\n", expected) + "\n", out.toString());
+        assertEquals(input.length, report.records());
+        assertEquals(0, report.errors());
+        assertTrue(report.recordsPerSecond() > 0);
+        assertTrue(report.latencyNanos(50) <= report.latencyNanos(99));
+        assertTrue(report.peakHeapBytes() > 0);
+    }
+
+    @Test
+    public void testDecimalFormatAndErrors() throws Exception {
+        BatchPipeline pipeline = new BatchPipeline(List.of(Stage.PARSE, Stage.MOD, Stage.FORMAT),
+                new NumberListImpl("7"), Format.DECIMAL, 2, 2, 1);
+        StringWriter out = new StringWriter();
+        Report report = pipeline.run(new BufferedReader(new StringReader("100\n12a\n\n 50 \n6")), out);
+        assertEquals("2\n\n\n1\n6\n", out.toString());
+        assertEquals(5, report.records());
+        assertEquals(2, report.errors());
+    }
+
+    @Test
+    public void testEmptyInput() throws Exception {
+        BatchPipeline pipeline = new BatchPipeline(List.of(Stage.PARSE, Stage.FORMAT),
+                null, Format.DIGITS, 1, 10, 1);
+        StringWriter out = new StringWriter();
+        Report report = pipeline.run(new BufferedReader(new StringReader("")), out);
+        assertEquals("", out.toString());
+        assertEquals(0, report.records());
+        assertEquals(0, report.latencyNanos(99));
+    }
+
+    @Test
+    public void testFilesWithoutTrailingNewline() throws Exception {
+        Path first = Files.createTempFile("batch", ".txt");
+        Path second = Files.createTempFile("batch", ".txt");
+        try {
+            Files.writeString(first, "10\n20");
+            Files.writeString(second, "30\n40\n");
+            BatchPipeline pipeline = new BatchPipeline(List.of(Stage.PARSE, Stage.FORMAT),
+                    null, Format.DECIMAL, 1, 10, 1);
+            StringWriter out = new StringWriter();
+            Report report;
+            try (BatchPipeline.FileLines in = new BatchPipeline.FileLines(
+                    List.of(first.toString(), second.toString()))) {
+                report = pipeline.run(in, out);
+            }
+            assertEquals("10\n20\n30\n40\n", out.toString());
+            assertEquals(4, report.records());
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+        }
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void testMissingFileIsOpenedLazily() throws Exception {
+        Path first = Files.createTempFile("batch", ".txt");
+        try {
+            Files.writeString(first, "10\n");
+            try (BatchPipeline.FileLines in = new BatchPipeline.FileLines(
+                    List.of(first.toString(), first + ".missing"))) {
+                assertEquals("10", in.readLine());
+                in.readLine();
+            }
+        } finally {
+            Files.deleteIfExists(first);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStagesOrder() {
+        new BatchPipeline(List.of(Stage.SCALE, Stage.FORMAT), null, Format.DIGITS, 1, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testModWithoutDivisor() {
+        new BatchPipeline(List.of(Stage.PARSE, Stage.MOD, Stage.FORMAT), null, Format.DIGITS, 1, 1, 1);
+    }
+
+    @Test
+    public void testHistogram() {
+        BatchPipeline.Histogram h = new BatchPipeline.Histogram();
+        for (long v = 1; v <= 100_000; ++v) {
+            h.record(v);
+        }
+        for (double p : new double[] {1, 50, 90, 99, 99.9}) {
+            long exact = (long) (p * 1000);
+            long value = h.percentile(p);
+            assertTrue(p + ": " + value, value >= exact && value <= exact + exact / 16);
+        }
+        assertEquals(100_000, h.percentile(100));
+    }
+}
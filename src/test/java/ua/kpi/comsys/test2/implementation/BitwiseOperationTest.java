@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.LinkedList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ua.kpi.comsys.test2.NumberList;
+
+import static org.junit.Assert.assertEquals;
+
+public class BitwiseOperationTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+    static final String MASK = "12345678901234567890123456789";
+
+    @Test
+    public void testTernary() {
+        check(new NumberListImpl(VALUE), new NumberListImpl(MASK));
+        check(new NumberListImpl(MASK), new NumberListImpl(VALUE));
+    }
+
+    @Test
+    public void testPowerOfTwoBases() {
+        for (int base : new int[] {2, 8, 16}) {
+            check(NumberListImpl.fromBigInteger(new BigInteger(VALUE), base),
+                    NumberListImpl.fromBigInteger(new BigInteger(MASK), base));
+        }
+    }
+
+    @Test
+    public void testMixedBases() {
+        NumberListImpl octal = new NumberListImpl(VALUE).changeScale();
+        NumberListImpl ternary = new NumberListImpl(MASK);
+        check(octal, ternary);
+        check(ternary, octal);
+        assertEquals(8, octal.and(ternary).base());
+        assertEquals(3, ternary.and(octal).base());
+    }
+
+    @Test
+    public void testSmallValues() {
+        check(new NumberListImpl("0"), new NumberListImpl("12345"));
+        check(new NumberListImpl("12345"), new NumberListImpl("0"));
+        check(new NumberListImpl("9223372036854775807"), new NumberListImpl("6148914691236517205"));
+        check(new NumberListImpl("255"), new NumberListImpl(VALUE));
+    }
+
+    @Test
+    public void testEmpty() {
+        NumberListImpl empty = new NumberListImpl();
+        NumberListImpl value = new NumberListImpl(MASK);
+        assertEquals("0", empty.and(value).toDecimalString());
+        assertEquals(MASK, empty.or(value).toDecimalString());
+        assertEquals(MASK, value.xor(empty).toDecimalString());
+    }
+
+    @Test
+    public void testLarge() {
+        Random rnd = new Random(8971);
+        for (int bits : new int[] {63, 64, 65, 1000, 20000}) {
+            BigInteger a = new BigInteger(bits, rnd);
+            BigInteger b = new BigInteger(bits / 2 + 1, rnd);
+            check(NumberListImpl.fromBigInteger(a, 3), NumberListImpl.fromBigInteger(b, 3));
+            check(NumberListImpl.fromBigInteger(a, 8), NumberListImpl.fromBigInteger(b, 16));
+        }
+    }
+
+    @Test
+    public void testForeignList() {
+        NumberList decimal = new ForeignList("1234567");
+        NumberListImpl list = new NumberListImpl(VALUE);
+        BigInteger a = new BigInteger(VALUE);
+        BigInteger b = new BigInteger("1234567");
+        assertEquals(a.and(b).toString(), list.and(decimal).toDecimalString());
+        assertEquals(a.xor(b).toString(), list.xor(decimal).toDecimalString());
+    }
+
+    @Test
+    public void testOperandsUnchanged() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl b = new NumberListImpl(MASK);
+        NumberListImpl copyA = a.copy();
+        NumberListImpl copyB = b.copy();
+        a.and(b);
+        a.or(b);
+        a.xor(b);
+        a.andNot(b);
+        assertEquals(copyA, a);
+        assertEquals(copyB, b);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullArgument() {
+        new NumberListImpl(VALUE).and(null);
+    }
+
+    private static void check(NumberListImpl a, NumberListImpl b) {
+        BigInteger x = a.toBigInteger();
+        BigInteger y = b.toBigInteger();
+        assertResult(x.and(y), a.and(b), a.base());
+        assertResult(x.or(y), a.or(b), a.base());
+        assertResult(x.xor(y), a.xor(b), a.base());
+        assertResult(x.andNot(y), a.andNot(b), a.base());
+    }
+
+    private static void assertResult(BigInteger expected, NumberListImpl actual, int base) {
+        assertEquals(base, actual.base());
+        assertEquals(expected.toString(), actual.toDecimalString());
+        assertEquals(NumberListImpl.fromBigInteger(expected, base), actual);
+    }
+
+    /**
+     * Decimal digit list of another implementation.
+     */
+    static final class ForeignList extends LinkedList<Byte> implements NumberList {
+        ForeignList(String value) {
+            for (char c : value.toCharArray()) {
+                add((byte) (c - '0'));
+            }
+        }
+
+        @Override
+        public boolean swap(int index1, int index2) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sortAscending() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sortDescending() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void shiftLeft() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void shiftRight() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BulkDigitsTest {
+    static final String DECIMAL = "1212144468782345613";
+    static final String OCTAL = "103223157433616366615";
+    static final String HEXADECIMAL = "10D266F8DE39ED8D";
+
+    @Test
+    public void testExport() {
+        NumberListImpl list = new NumberListImpl(DECIMAL).changeScale();
+        byte[] digits = list.toDigitArray();
+
+        assertEquals(OCTAL.length(), digits.length);
+        for (int i = 0; i < digits.length; ++i) {
+            assertEquals(OCTAL.charAt(i) - '0', digits[i]);
+        }
+
+        byte[] dst = new byte[digits.length + 4];
+        assertEquals(digits.length, list.copyDigitsInto(dst, 2));
+        for (int i = 0; i < digits.length; ++i) {
+            assertEquals(digits[i], dst[i + 2]);
+        }
+    }
+
+    @Test
+    public void testImport() {
+        byte[] digits = new byte[HEXADECIMAL.length()];
+        for (int i = 0; i < digits.length; ++i) {
+            digits[i] = (byte) Character.digit(HEXADECIMAL.charAt(i), 16);
+        }
+        NumberListImpl list = new NumberListImpl(digits, 16);
+
+        assertEquals(HEXADECIMAL, list.toString());
+        assertEquals(DECIMAL, list.toDecimalString());
+        assertArrayEquals(digits, list.toDigitArray());
+    }
+
+    @Test
+    public void testTypedArray() {
+        NumberListImpl list = new NumberListImpl(DECIMAL);
+        Byte[] arr = list.toArray(new Byte[0]);
+        assertEquals(list.size(), arr.length);
+        for (int i = 0; i < arr.length; ++i) {
+            assertEquals(list.get(i), arr[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDigit() {
+        new NumberListImpl(new byte[] {1, 2, 3}, 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSmallDestination() {
+        new NumberListImpl(DECIMAL).copyDigitsInto(new byte[5], 0);
+    }
+}
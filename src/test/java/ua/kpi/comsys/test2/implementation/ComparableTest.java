@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ComparableTest {
+
+    @Test
+    public void testLeadingZeros() {
+        NumberListImpl a = new NumberListImpl("5");
+        NumberListImpl b = new NumberListImpl("5");
+        b.add(0, (byte) 0);
+        b.add(0, (byte) 0);
+
+        assertEquals(0, a.compareTo(b));
+        assertEquals(0, new NumberListImpl().compareTo(new NumberListImpl("0")));
+        assertTrue(new NumberListImpl("0").compareTo(a) < 0);
+    }
+
+    @Test
+    public void testDifferentBases() {
+        NumberListImpl ternary = new NumberListImpl("1212144468782345613");
+        NumberListImpl octal = ternary.changeScale();
+
+        assertEquals(0, ternary.compareTo(octal));
+        assertTrue(new NumberListImpl("1212144468782345612").compareTo(octal) < 0);
+        assertTrue(octal.compareTo(new NumberListImpl("1212144468782345614")) < 0);
+        assertTrue(new NumberListImpl("9").changeScale().compareTo(new NumberListImpl("100000")) < 0);
+    }
+
+    @Test
+    public void testSortMatchesBigInteger() {
+        Random rnd = new Random(8971);
+        List<NumberListImpl> lists = new ArrayList<>();
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 0; i < 300; ++i) {
+            BigInteger v = new BigInteger(1 + rnd.nextInt(120), rnd);
+            expected.add(v);
+            NumberListImpl list = new NumberListImpl(v.toString());
+            lists.add(i % 2 == 0 ? list : list.changeScale());
+        }
+        Collections.sort(expected);
+        Collections.sort(lists);
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i).toString(), lists.get(i).toDecimalString());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentNumberListTest {
+    ConcurrentNumberList list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    @Test
+    public void testDelegatesToList() {
+        list = new ConcurrentNumberList(new NumberListImpl("1212144468782345613"));
+
+        assertEquals("1212144468782345613", list.toDecimalString());
+        assertEquals(new NumberListImpl("1212144468782345613"), list.snapshot());
+        assertEquals(new NumberListImpl("1"), list.additionalOperation(new NumberListImpl("2")));
+    }
+
+    @Test
+    public void testSnapshotIterator() {
+        list = new ConcurrentNumberList(new NumberListImpl("15"));
+        String before = list.toString();
+
+        Iterator<Byte> it = list.iterator();
+        list.clear();
+
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            sb.append(it.next());
+        }
+        assertEquals("Iterator should not see later modifications", before, sb.toString());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testSnapshotListIteratorFromIndex() {
+        list = new ConcurrentNumberList(new NumberListImpl("1212144468782345613"));
+        String digits = list.toString();
+
+        ListIterator<Byte> it = list.listIterator(5);
+        assertEquals(5, it.nextIndex());
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            sb.append(it.next());
+        }
+        assertEquals(digits.substring(5), sb.toString());
+
+        sb.setLength(0);
+        while (it.hasPrevious()) {
+            sb.insert(0, it.previous());
+        }
+        assertEquals(digits, sb.toString());
+        assertEquals(-1, it.previousIndex());
+    }
+
+    @Test
+    public void testSubListIsReadOnlySnapshot() {
+        list = new ConcurrentNumberList(new NumberListImpl("1212144468782345613"));
+        String digits = list.toString();
+        List<Byte> sub = list.subList(2, 6);
+        list.clear();
+
+        StringBuilder sb = new StringBuilder();
+        for (Byte d : sub) {
+            sb.append(d);
+        }
+        assertEquals(digits.substring(2, 6), sb.toString());
+        try {
+            sub.set(0, (byte) 1);
+            fail("sub list should be read-only");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIteratorIsReadOnly() {
+        list = new ConcurrentNumberList(new NumberListImpl("15"));
+        Iterator<Byte> it = list.listIterator();
+        it.next();
+        it.remove();
+    }
+
+    @Test
+    public void testConcurrentReadersAndWriter() throws InterruptedException {
+        list = new ConcurrentNumberList();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; ++i) {
+                list.add((byte) (i % 3));
+                if (i % 7 == 0) {
+                    list.shiftRight();
+                }
+                if (i % 100 == 99) {
+                    list.clear();
+                }
+            }
+        });
+        for (int t = 0; t < readers.length; ++t) {
+            readers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2000; ++i) {
+                        int size = list.size();
+                        assertTrue(size >= 0 && size <= 100);
+                        list.contains((byte) 2);
+                        list.toString();
+                        if (!list.isEmpty()) {
+                            list.toDecimalString();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+        }
+        writer.start();
+        for (Thread r : readers) {
+            r.start();
+        }
+        writer.join();
+        for (Thread r : readers) {
+            r.join();
+        }
+        assertNull("Reader failed: " + failure.get(), failure.get());
+        assertFalse(list.size() > 100);
+    }
+}
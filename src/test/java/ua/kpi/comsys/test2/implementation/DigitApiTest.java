@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DigitApiTest {
+    static final String DECIMAL = "1212144468782345613";
+    static final String TERNARY = "22002001022022101111201212020022201000";
+
+    @Test
+    public void testGetAndIterate() {
+        NumberListImpl list = new NumberListImpl(DECIMAL);
+        for (int i = 0; i < TERNARY.length(); ++i) {
+            assertEquals(TERNARY.charAt(i) - '0', list.getDigit(i));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        PrimitiveIterator.OfInt it = list.digitIterator();
+        while (it.hasNext()) {
+            sb.append(it.nextInt());
+        }
+        assertFalse(it.hasNext());
+        assertEquals(TERNARY, sb.toString());
+
+        StringBuilder sb2 = new StringBuilder();
+        list.forEachDigit(sb2::append);
+        assertEquals(TERNARY, sb2.toString());
+    }
+
+    @Test
+    public void testModify() {
+        NumberListImpl list = new NumberListImpl();
+        list.addDigit((byte) 2);
+        list.addDigit((byte) 0);
+        list.addDigit(0, (byte) 1);
+        assertEquals((byte) 0, list.setDigit(2, (byte) 1));
+
+        assertEquals("121", list.toString());
+        assertEquals("16", list.toDecimalString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDigitOutOfRange() {
+        new NumberListImpl().addDigit((byte) 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfRange() {
+        new NumberListImpl("15").getDigit(3);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares kernels with the scalar loops. The Vector API path is taken
+ * when tests run with <tt>--add-modules jdk.incubator.vector</tt>, as
+ * <tt>make test</tt> does.
+ */
+public class DigitKernelsTest {
+    static final int[] LENGTHS = {0, 1, 15, 63, 64, 65, 127, 300, 4099};
+
+    @Test
+    public void testFirstInvalid() {
+        Random rnd = new Random(8971);
+        for (int base : new int[] {2, 3, 8, 10, 16}) {
+            for (int len : LENGTHS) {
+                byte[] digits = random(rnd, len + 5, base);
+                assertEquals(-1, DigitKernels.firstInvalid(digits, 3, 3 + len, base));
+                if (len == 0) continue;
+                int bad = 3 + rnd.nextInt(len);
+                for (byte invalid : new byte[] {(byte) base, 15 + 1, -1, Byte.MIN_VALUE}) {
+                    byte old = digits[bad];
+                    digits[bad] = invalid;
+                    assertEquals(bad, DigitKernels.firstInvalid(digits, 3, 3 + len, base));
+                    assertEquals(bad, DigitKernels.scalarFirstInvalid(digits, 3, 3 + len, base));
+                    // outside of the range
+                    assertEquals(-1, DigitKernels.firstInvalid(digits, bad + 1, 3 + len, base));
+                    digits[bad] = old;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPacked() {
+        Random rnd = new Random(8971);
+        for (int bits : new int[] {1, 2, 4}) {
+            for (int len : LENGTHS) {
+                byte[] packed = new byte[len + 2];
+                rnd.nextBytes(packed);
+                int base = bits == 2 ? 3 : 1 << bits;
+
+                long[] expected = new long[1 << bits];
+                long[] counts = new long[1 << bits];
+                DigitKernels.scalarCountPacked(packed, 1, 1 + len, bits, expected);
+                DigitKernels.countPacked(packed, 1, 1 + len, bits, counts);
+                assertArrayEquals(expected, counts);
+                long total = 0;
+                for (long c : counts) total += c;
+                assertEquals((long) len * 8 / bits, total);
+
+                for (int d = 0; d < 1 << bits; ++d) {
+                    assertEquals(DigitKernels.scalarIndexOfPacked(packed, 1, 1 + len, bits, d),
+                            DigitKernels.indexOfPacked(packed, 1, 1 + len, bits, d));
+                }
+                assertEquals(DigitKernels.scalarFirstInvalidPacked(packed, 1, 1 + len, bits, base),
+                        DigitKernels.firstInvalidPacked(packed, 1, 1 + len, bits, base));
+            }
+        }
+    }
+
+    @Test
+    public void testPackedSearchFindsLateDigit() {
+        // ternary digits 0 and 1 only, a single 2 near the end
+        byte[] packed = new byte[1000];
+        java.util.Arrays.fill(packed, (byte) 0b01000100);
+        packed[997] = (byte) 0b00100000;
+        assertEquals(997, DigitKernels.indexOfPacked(packed, 0, packed.length, 2, 2));
+        assertEquals(-1, DigitKernels.firstInvalidPacked(packed, 0, packed.length, 2, 3));
+        packed[998] = (byte) 0b11000000;
+        assertEquals(998, DigitKernels.firstInvalidPacked(packed, 0, packed.length, 2, 3));
+        long[] counts = new long[3];
+        DigitKernels.countPacked(packed, 0, 997, 2, counts);
+        assertArrayEquals(new long[] {997 * 2, 997 * 2, 0}, counts);
+    }
+
+    @Test
+    public void testBulkConstructorRejectsWholeArray() {
+        byte[] digits = random(new Random(8971), 1000, 3);
+        digits[999] = 3;
+        try {
+            new NumberListImpl(digits, 3);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("base 3"));
+            return;
+        }
+        throw new AssertionError("digit 3 accepted");
+    }
+
+    private static byte[] random(Random rnd, int len, int base) {
+        byte[] res = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            res[i] = (byte) rnd.nextInt(base);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EqualsHashCodeTest {
+
+    @Test
+    public void testListContract() {
+        NumberListImpl list = new NumberListImpl("79483758967495604375647803561675463655464562565464565654634156134636");
+        assertEquals(new ArrayList<>(list).hashCode(), list.hashCode());
+        assertEquals(1, new NumberListImpl().hashCode());
+    }
+
+    @Test
+    public void testHashFollowsModification() {
+        NumberListImpl list = new NumberListImpl("15");
+        int before = list.hashCode();
+
+        list.set(0, (byte) 2);
+        assertNotEquals(before, list.hashCode());
+        assertEquals(new ArrayList<>(list).hashCode(), list.hashCode());
+
+        list.shiftLeft();
+        assertEquals(new ArrayList<>(list).hashCode(), list.hashCode());
+
+        list.clear();
+        assertEquals(1, list.hashCode());
+    }
+
+    @Test
+    public void testEquals() {
+        NumberListImpl a = new NumberListImpl("1212144468782345613");
+        NumberListImpl b = new NumberListImpl("1212144468782345613");
+        NumberListImpl c = new NumberListImpl("1212144468782345614");
+
+        a.hashCode();
+        c.hashCode();
+        assertTrue(a.equals(b));
+        assertFalse(a.equals(c));
+        assertTrue(a.equals(PersistentNumberList.of(b)));
+        assertFalse(a.equals(PersistentNumberList.of(c)));
+    }
+
+    @Test
+    public void testHashSet() {
+        Set<NumberListImpl> set = new HashSet<>();
+        for (int i = 0; i < 1000; ++i) {
+            set.add(new NumberListImpl(Integer.toString(i % 100)));
+        }
+        assertEquals(100, set.size());
+        assertTrue(set.contains(new NumberListImpl("42")));
+    }
+}
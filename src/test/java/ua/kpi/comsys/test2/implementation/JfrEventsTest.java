@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JfrEventsTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        File file = File.createTempFile("jfr-list", ".txt");
+        Path dump = Files.createTempFile("numberlist", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : Arrays.asList("Parse", "ChangeScale", "AdditionalOperation", "FileIO", "Sort", "Bulk")) {
+                recording.enable(NumberListEvents.PREFIX + name).withoutThreshold();
+            }
+            recording.start();
+
+            NumberListImpl list = new NumberListImpl(VALUE);
+            list.changeScale();
+            list.additionalOperation(new NumberListImpl("12345678901234567890123"));
+            list.saveList(file);
+            new NumberListImpl(file);
+            list.copy().sortDescending();
+            list.toDigitArray();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        file.delete();
+        Files.delete(dump);
+
+        // parsed once from the string and once more when loaded from file
+        List<RecordedEvent> parses = find(events, "Parse", e -> e.getInt("decimalDigits") == VALUE.length());
+        assertEquals(2, parses.size());
+        RecordedEvent parse = parses.get(0);
+        assertEquals(3, parse.getInt("base"));
+        assertEquals(new NumberListImpl(VALUE).size(), parse.getInt("digits"));
+        assertTrue(parse.getLong("bytes") >= 28);
+
+        RecordedEvent scale = single(events, "ChangeScale", e -> true);
+        assertEquals(8, scale.getInt("resultBase"));
+        assertEquals(new BigInteger(VALUE).toString(8).length(), scale.getInt("resultDigits"));
+
+        RecordedEvent op = single(events, "AdditionalOperation", e -> true);
+        assertEquals(parse.getInt("digits"), op.getInt("digits"));
+        assertTrue(op.getInt("argumentDigits") > 0);
+
+        RecordedEvent save = single(events, "FileIO", e -> "save".equals(e.getString("operation")));
+        RecordedEvent load = single(events, "FileIO", e -> "load".equals(e.getString("operation")));
+        assertEquals(VALUE.length(), save.getLong("bytes"));
+        assertEquals(VALUE.length(), load.getLong("bytes"));
+        assertEquals(file.getPath(), load.getString("path"));
+
+        RecordedEvent sort = single(events, "Sort", e -> true);
+        assertFalse(sort.getBoolean("ascending"));
+
+        RecordedEvent export = single(events, "Bulk", e -> "export".equals(e.getString("operation")));
+        assertEquals(parse.getInt("digits"), export.getInt("elements"));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name,
+                                        Predicate<RecordedEvent> filter) {
+        List<RecordedEvent> found = find(events, name, filter);
+        assertEquals(name + " events: " + found, 1, found.size());
+        return found.get(0);
+    }
+
+    private static List<RecordedEvent> find(List<RecordedEvent> events, String name,
+                                            Predicate<RecordedEvent> filter) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(NumberListEvents.PREFIX + name))
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NodePoolTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    @Before
+    public void setUp() {
+        NumberListImpl.setNodePooling(true);
+    }
+
+    @After
+    public void tearDown() {
+        NumberListImpl.setNodePooling(false);
+    }
+
+    @Test
+    public void testClearRecyclesNodes() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        int before = NumberListImpl.pooledNodes();
+        int size = list.size();
+
+        list.clear();
+        assertEquals(before + size, NumberListImpl.pooledNodes());
+
+        NumberListImpl again = new NumberListImpl(VALUE);
+        again.toString();
+        assertEquals(VALUE, again.toDecimalString());
+        assertEquals(new BigInteger(VALUE).toString(3), again.toString());
+        assertTrue(NumberListImpl.pooledNodes() <= before + size);
+    }
+
+    @Test
+    public void testRemoveRecyclesNodes() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        list.toString();
+        int before = NumberListImpl.pooledNodes();
+
+        list.remove(0);
+        list.remove(list.size() - 1);
+        list.remove(Byte.valueOf((byte) 2));
+        assertEquals(before + 3, NumberListImpl.pooledNodes());
+
+        list.add(0, (byte) 1);
+        list.add((byte) 1);
+        assertEquals(before + 1, NumberListImpl.pooledNodes());
+    }
+
+    @Test
+    public void testReusedNodesKeepListsIndependent() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        a.toString();
+        a.clear();
+        for (int i = 0; i < 50; ++i) {
+            NumberListImpl b = new NumberListImpl(VALUE).changeScale();
+            NumberListImpl c = new NumberListImpl(VALUE);
+            c.shiftLeft();
+            assertEquals(new BigInteger(VALUE).toString(8), b.toString());
+            b.clear();
+            c.shiftRight();
+            assertEquals(VALUE, c.toDecimalString());
+            c.clear();
+        }
+    }
+}
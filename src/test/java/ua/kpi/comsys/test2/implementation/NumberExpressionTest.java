@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberExpressionTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+    static final String ARG = "12345678901234567890123";
+
+    @Test
+    public void testMatchesEagerChain() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl b = new NumberListImpl(ARG);
+        NumberListImpl eager = a.additionalOperation(b).changeScale();
+
+        NumberExpression expr = NumberExpression.of(a).mod(b).changeScale();
+        assertEquals(8, expr.base());
+        assertEquals(eager, expr.evaluate());
+        assertEquals(eager.toDecimalString(), expr.toDecimalString());
+    }
+
+    @Test
+    public void testArithmetic() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl b = new NumberListImpl(ARG);
+        BigInteger x = new BigInteger(VALUE);
+        BigInteger y = new BigInteger(ARG);
+
+        assertEquals(x.add(y).multiply(y).subtract(x).divide(y).mod(y),
+                NumberExpression.of(a).add(b).multiply(b).subtract(a).divide(b).mod(b).toBigInteger());
+    }
+
+    @Test
+    public void testShifts() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl shifted = NumberExpression.of(a).shiftLeft(3).evaluate();
+        assertEquals(a + "000", shifted.toString());
+        assertEquals(a, NumberExpression.of(a).shiftLeft(3).shiftRight(3).evaluate());
+
+        NumberListImpl octal = NumberExpression.of(a).changeScale().shiftRight(2).evaluate();
+        String digits = a.changeScale().toString();
+        assertEquals(digits.substring(0, digits.length() - 2), octal.toString());
+        assertEquals(a.changeScale() + "0", NumberExpression.of(a).changeScale().shiftLeft(1).evaluate().toString());
+    }
+
+    @Test
+    public void testChangeScaleToAnyBase() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        assertEquals(new BigInteger(VALUE).toString(16).toUpperCase(),
+                NumberExpression.of(a).changeScale().changeScale(16).evaluate().toString());
+    }
+
+    @Test
+    public void testLazyAndReusable() {
+        NumberListImpl a = new NumberListImpl("100");
+        NumberListImpl b = new NumberListImpl("7");
+        NumberExpression expr = NumberExpression.of(a).mod(b);
+        NumberExpression doubled = expr.add(expr.evaluate());
+        assertEquals("2", expr.toDecimalString());
+        assertEquals("4", doubled.toDecimalString());
+
+        b.clear();
+        b.addAll(new NumberListImpl("9"));
+        assertEquals("1", expr.toDecimalString());
+    }
+
+    @Test
+    public void testNoIntermediateLists() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl b = new NumberListImpl(ARG);
+        a.inflate();
+        b.inflate();
+        NumberListMetrics.reset();
+        NumberListMetrics.setEnabled(true);
+        try {
+            NumberListImpl res = NumberExpression.of(a).mod(b).shiftLeft(5).changeScale().evaluate();
+            assertEquals(res.size(), NumberListMetrics.snapshot().nodesAllocated());
+        } finally {
+            NumberListMetrics.setEnabled(false);
+            NumberListMetrics.reset();
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivisionByZero() {
+        NumberExpression.of(new NumberListImpl(VALUE)).mod(new NumberListImpl("0")).evaluate();
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testNegativeDifference() {
+        NumberExpression.of(new NumberListImpl(ARG)).subtract(new NumberListImpl(VALUE)).evaluate();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullOperand() {
+        NumberExpression.of(new NumberListImpl(VALUE)).add(null);
+    }
+
+    @Test
+    public void testEmptySourceIsZero() {
+        assertTrue(NumberExpression.of(new NumberListImpl()).add(new NumberListImpl("5")).evaluate()
+                .equals(new NumberListImpl("5")));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ua.kpi.comsys.test2.implementation.NumberListMetrics.Operation;
+import ua.kpi.comsys.test2.implementation.NumberListMetrics.Snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListMetricsTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    @Before
+    public void setUp() {
+        NumberListMetrics.reset();
+        NumberListMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        NumberListMetrics.setEnabled(false);
+        NumberListMetrics.reset();
+    }
+
+    @Test
+    public void testPositionalHops() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        int size = list.size();
+        NumberListMetrics.reset();
+
+        list.get(10);
+        list.set(20, (byte) 1);
+        list.add(30, (byte) 1);
+        list.remove(30);
+        list.swap(3, 4);
+        list.shiftRight();
+
+        Snapshot s = NumberListMetrics.snapshot();
+        assertEquals(10, s.nodeHops(Operation.GET));
+        assertEquals(20, s.nodeHops(Operation.SET));
+        assertEquals(29, s.nodeHops(Operation.INSERT));
+        assertEquals(29, s.nodeHops(Operation.REMOVE));
+        assertEquals(7, s.nodeHops(Operation.SWAP));
+        assertEquals(size - 2, s.nodeHops(Operation.SHIFT));
+        assertEquals(1, s.nodesAllocated());
+        assertEquals(1, s.nodesUnlinked());
+        assertEquals(0, s.conversions());
+    }
+
+    @Test
+    public void testConversionsAndNodes() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        Snapshot s = NumberListMetrics.snapshot();
+        // decimal string to binary, then binary to ternary digits
+        assertEquals(2, s.conversions());
+        assertTrue(s.conversionDigits() >= VALUE.length() + list.size());
+        assertEquals(list.size(), s.nodesAllocated());
+
+        list.toDecimalString();
+        list.clear();
+        s = NumberListMetrics.snapshot();
+        assertEquals(4, s.conversions());
+        assertEquals(s.nodesAllocated(), s.nodesUnlinked());
+    }
+
+    @Test
+    public void testDisabled() {
+        NumberListMetrics.setEnabled(false);
+        NumberListImpl list = new NumberListImpl(VALUE);
+        list.get(list.size() - 1);
+        list.sortAscending();
+
+        Snapshot s = NumberListMetrics.snapshot();
+        assertEquals(0, s.totalNodeHops());
+        assertEquals(0, s.nodesAllocated());
+        assertEquals(0, s.conversions());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        ObjectName name = NumberListMetrics.register();
+        assertEquals(name, NumberListMetrics.register());
+
+        NumberListImpl list = new NumberListImpl(VALUE);
+        list.sortDescending();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        assertEquals(2L * list.size(), server.getAttribute(name, "NodeHops"));
+        assertEquals((long) list.size(), server.getAttribute(name, "NodesAllocated"));
+
+        TabularData byOperation = (TabularData) server.getAttribute(name, "NodeHopsByOperation");
+        CompositeData sort = byOperation.get(new Object[] {"SORT"});
+        assertEquals(2L * list.size(), sort.get("value"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "NodeHops"));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumberTheoryTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+    static final String MODULUS = "12345678901234567890123456789";
+
+    @Test
+    public void testModPow() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        NumberListImpl res = list.modPow(new NumberListImpl("65537"), new NumberListImpl(MODULUS));
+        assertEquals(3, res.base());
+        assertEquals(new BigInteger(VALUE).modPow(BigInteger.valueOf(65537), new BigInteger(MODULUS)).toString(),
+                res.toDecimalString());
+    }
+
+    @Test
+    public void testModPowEdgeCases() {
+        NumberListImpl value = new NumberListImpl(VALUE);
+        assertEquals("1", value.modPow(new NumberListImpl("0"), new NumberListImpl(MODULUS)).toDecimalString());
+        assertEquals("0", value.modPow(new NumberListImpl("5"), new NumberListImpl("1")).toDecimalString());
+        assertEquals("0", new NumberListImpl("0").modPow(new NumberListImpl("5"),
+                new NumberListImpl(MODULUS)).toDecimalString());
+        assertEquals("1", new NumberListImpl("0").modPow(new NumberListImpl("0"),
+                new NumberListImpl("7")).toDecimalString());
+    }
+
+    @Test
+    public void testModPowRandom() {
+        Random rnd = new Random(8971);
+        for (int bits : new int[] {2, 63, 64, 65, 127, 128, 500, 512, 513, 2048}) {
+            for (int i = 0; i < 10; ++i) {
+                BigInteger m = new BigInteger(bits, rnd);
+                if (m.signum() == 0) continue;
+                if (i % 2 == 0) m = m.setBit(0);
+                BigInteger a = new BigInteger(bits + 70, rnd);
+                BigInteger e = new BigInteger(bits * 3, rnd);
+                checkModPow(a, e, m);
+            }
+        }
+    }
+
+    @Test
+    public void testModPowBases() {
+        BigInteger m = BigInteger.ONE.shiftLeft(521).subtract(BigInteger.ONE);
+        BigInteger a = new BigInteger(VALUE);
+        BigInteger e = m.subtract(BigInteger.ONE);
+        NumberListImpl octal = NumberListImpl.fromBigInteger(a, 8);
+        NumberListImpl res = octal.modPow(NumberListImpl.fromBigInteger(e, 3), NumberListImpl.fromBigInteger(m, 16));
+        assertEquals(8, res.base());
+        // Fermat's little theorem, 2^521 - 1 is prime
+        assertEquals("1", res.toDecimalString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testModPowZeroModulus() {
+        new NumberListImpl(VALUE).modPow(new NumberListImpl("2"), new NumberListImpl("0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testModPowNull() {
+        new NumberListImpl(VALUE).modPow(null, new NumberListImpl("7"));
+    }
+
+    @Test
+    public void testGcd() {
+        checkGcd(new BigInteger(VALUE), new BigInteger(MODULUS));
+        checkGcd(BigInteger.ZERO, new BigInteger(MODULUS));
+        checkGcd(new BigInteger(VALUE), BigInteger.ZERO);
+        checkGcd(BigInteger.ZERO, BigInteger.ZERO);
+        checkGcd(BigInteger.valueOf(48), BigInteger.valueOf(180));
+        checkGcd(BigInteger.valueOf(Long.MAX_VALUE), BigInteger.valueOf(Long.MAX_VALUE - 1));
+        checkGcd(BigInteger.ONE.shiftLeft(200), BigInteger.ONE.shiftLeft(130).multiply(BigInteger.valueOf(3)));
+    }
+
+    @Test
+    public void testGcdRandom() {
+        Random rnd = new Random(8971);
+        for (int bits : new int[] {10, 64, 65, 300, 3000}) {
+            for (int i = 0; i < 10; ++i) {
+                BigInteger common = new BigInteger(bits / 3 + 1, rnd).shiftLeft(i);
+                checkGcd(new BigInteger(bits, rnd).multiply(common), new BigInteger(bits / 2 + 1, rnd).multiply(common));
+            }
+        }
+    }
+
+    @Test
+    public void testGcdForeignList() {
+        NumberListImpl list = new NumberListImpl("1071");
+        assertEquals("21", list.gcd(new BitwiseOperationTest.ForeignList("462")).toDecimalString());
+        assertEquals("21", list.modPow(new BitwiseOperationTest.ForeignList("1"),
+                new BitwiseOperationTest.ForeignList("1050")).toDecimalString());
+    }
+
+    private static void checkModPow(BigInteger a, BigInteger e, BigInteger m) {
+        String expected = a.modPow(e, m).toString();
+        NumberListImpl res = NumberListImpl.fromBigInteger(a, 3)
+                .modPow(NumberListImpl.fromBigInteger(e, 3), NumberListImpl.fromBigInteger(m, 3));
+        assertEquals(a + "^" + e + " mod " + m, expected, res.toDecimalString());
+        res = NumberListImpl.fromBigInteger(a, 8)
+                .modPow(NumberListImpl.fromBigInteger(e, 8), NumberListImpl.fromBigInteger(m, 8));
+        assertEquals(expected, res.toDecimalString());
+    }
+
+    private static void checkGcd(BigInteger a, BigInteger b) {
+        String expected = a.gcd(b).toString();
+        for (int base : new int[] {3, 8}) {
+            NumberListImpl res = NumberListImpl.fromBigInteger(a, base).gcd(NumberListImpl.fromBigInteger(b, base));
+            assertEquals(a + " gcd " + b, expected, res.toDecimalString());
+            assertEquals(base, res.base());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapNumberListTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+    static final String ARG = "12345678901234567890123";
+
+    @Test
+    public void testMatchesNumberListImpl() {
+        NumberListImpl expected = new NumberListImpl(VALUE);
+        try (OffHeapNumberList list = new OffHeapNumberList(VALUE)) {
+            assertEquals(expected.toString(), list.toString());
+            assertEquals(VALUE, list.toDecimalString());
+            assertEquals(expected, list);
+            assertEquals(list, expected);
+            assertEquals(expected.hashCode(), list.hashCode());
+        }
+        try (OffHeapNumberList list = new OffHeapNumberList(" +" + VALUE + " ")) {
+            assertEquals(expected, list);
+        }
+        try (OffHeapNumberList list = new OffHeapNumberList("\u0661\u0662\u0663")) {
+            assertEquals("123", list.toDecimalString());
+        }
+        try (OffHeapNumberList list = new OffHeapNumberList("12a")) {
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    public void testListOperations() {
+        NumberListImpl expected = new NumberListImpl(VALUE);
+        try (OffHeapNumberList list = OffHeapNumberList.copyOf(expected)) {
+            list.add((byte) 2);
+            expected.add((byte) 2);
+            list.add(0, (byte) 1);
+            expected.add(0, (byte) 1);
+            list.add(17, (byte) 0);
+            expected.add(17, (byte) 0);
+            assertEquals(expected.remove(5), list.remove(5));
+            assertEquals(expected.set(9, (byte) 2), list.set(9, (byte) 2));
+            assertTrue(list.swap(3, 30));
+            expected.swap(3, 30);
+            try {
+                list.swap(3, list.size());
+                fail("swap past the end should throw");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            assertEquals(expected.toString(), list.toString());
+
+            list.shiftLeft();
+            expected.shiftLeft();
+            assertEquals(expected.toString(), list.toString());
+            list.shiftRight();
+            list.shiftRight();
+            expected.shiftRight();
+            expected.shiftRight();
+            assertEquals(expected.toString(), list.toString());
+
+            list.sortAscending();
+            expected.sortAscending();
+            assertEquals(expected.toString(), list.toString());
+            list.sortDescending();
+            expected.sortDescending();
+            assertEquals(expected.toString(), list.toString());
+
+            list.clear();
+            assertTrue(list.isEmpty());
+            assertEquals("0", list.toDecimalString());
+        }
+    }
+
+    @Test
+    public void testChangeScaleAndAdditionalOperation() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl b = new NumberListImpl(ARG);
+        try (OffHeapNumberList list = new OffHeapNumberList(VALUE);
+             OffHeapNumberList arg = new OffHeapNumberList(ARG);
+             OffHeapNumberList octal = list.changeScale();
+             OffHeapNumberList mod = list.additionalOperation(arg);
+             OffHeapNumberList modImpl = list.additionalOperation(b)) {
+            assertEquals(8, octal.getBase());
+            assertEquals(a.changeScale().toString(), octal.toString());
+            assertEquals(3, mod.getBase());
+            assertEquals(a.additionalOperation(b).toString(), mod.toString());
+            assertEquals(mod, modImpl);
+        }
+    }
+
+    @Test
+    public void testLargeConversions() {
+        Random rnd = new Random(8971);
+        for (int bits : new int[] {1, 64, 300_000, 1_000_000}) {
+            BigInteger value = new BigInteger(bits, rnd);
+            try (OffHeapNumberList list = new OffHeapNumberList(value.toString());
+                 OffHeapNumberList octal = list.changeScale()) {
+                assertEquals(value, list.toBigInteger());
+                assertEquals(value.toString(3).length(), list.size());
+                assertEquals(value.toString(8), octal.toString());
+                assertEquals(value, octal.toBigInteger());
+            }
+        }
+    }
+
+    @Test
+    public void testAllBases() {
+        BigInteger value = new BigInteger(VALUE);
+        for (int base = 2; base <= 16; ++base) {
+            NumberListImpl expected = NumberListImpl.fromBigInteger(value, base);
+            try (OffHeapNumberList list = OffHeapNumberList.copyOf(expected)) {
+                assertEquals(base, list.getBase());
+                assertArrayEquals(expected.toDigitArray(), toBytes(list));
+                assertEquals(value, list.toBigInteger());
+            }
+        }
+    }
+
+    @Test
+    public void testMappedFile() throws Exception {
+        Path file = Files.createTempFile("offheap", ".bin");
+        Files.delete(file);
+        try {
+            try (OffHeapNumberList list = OffHeapNumberList.mapped(file, 3)) {
+                for (byte d : new NumberListImpl(VALUE).toDigitArray()) {
+                    list.add(d);
+                }
+            }
+            int digits = new NumberListImpl(VALUE).size();
+            assertEquals(16 + (digits * 2 + 7) / 8, Files.size(file));
+
+            try (OffHeapNumberList list = OffHeapNumberList.mapped(file, 3)) {
+                assertEquals(VALUE, list.toDecimalString());
+                list.remove(0);
+                list.sortAscending();
+            }
+            try (OffHeapNumberList list = OffHeapNumberList.mapped(file, 3)) {
+                assertEquals(digits - 1, list.size());
+                assertEquals('0', list.toString().charAt(0));
+            }
+            try {
+                OffHeapNumberList.mapped(file, 8);
+                fail("base mismatch accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testForeignFileUntouched() throws Exception {
+        Path file = Files.createTempFile("offheap", ".txt");
+        try {
+            Files.write(file, (VALUE + VALUE).getBytes());
+            try {
+                OffHeapNumberList.mapped(file, 3);
+                fail("foreign file accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            assertEquals(VALUE + VALUE, new String(Files.readAllBytes(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSearchSortAndEquals() {
+        Random rnd = new Random(8971);
+        for (int base : new int[] {2, 3, 8, 16}) {
+            for (int len : new int[] {1, 7, 100, 1000, 70000}) {
+                byte[] digits = new byte[len];
+                for (int i = 0; i < len; ++i) {
+                    digits[i] = (byte) (1 + rnd.nextInt(base - 1));
+                }
+                int zero = rnd.nextInt(len);
+                digits[zero] = 0;
+                NumberListImpl expected = new NumberListImpl(digits, base);
+                try (OffHeapNumberList list = OffHeapNumberList.copyOf(expected);
+                     OffHeapNumberList same = OffHeapNumberList.copyOf(expected)) {
+                    assertEquals(zero, list.indexOf((byte) 0));
+                    assertTrue(list.contains((byte) 0));
+                    assertFalse(list.contains((byte) base));
+                    assertFalse(list.contains(0));
+                    assertEquals(same, list);
+                    same.set(len - 1, (byte) (digits[len - 1] == 1 ? 0 : 1));
+                    assertFalse(same.equals(list));
+
+                    list.sortDescending();
+                    expected.sortDescending();
+                    assertArrayEquals(expected.toDigitArray(), toBytes(list));
+                    list.sortAscending();
+                    expected.sortAscending();
+                    assertArrayEquals(expected.toDigitArray(), toBytes(list));
+                    assertEquals(0, list.indexOf((byte) 0));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMappedFileWithInvalidDigit() throws Exception {
+        Path file = Files.createTempFile("offheap", ".bin");
+        Files.delete(file);
+        try {
+            try (OffHeapNumberList list = OffHeapNumberList.mapped(file, 3)) {
+                for (int i = 0; i < 1000; ++i) {
+                    list.add((byte) (i % 3));
+                }
+            }
+            byte[] content = Files.readAllBytes(file);
+            content[16 + 100] |= 0b11;
+            Files.write(file, content);
+            try {
+                OffHeapNumberList.mapped(file, 3);
+                fail("digit 3 accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            assertArrayEquals(content, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() {
+        OffHeapNumberList list = new OffHeapNumberList(VALUE);
+        list.close();
+        list.close();
+        list.get(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDigitOutOfRange() {
+        try (OffHeapNumberList list = new OffHeapNumberList()) {
+            list.add((byte) 3);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullDigit() {
+        try (OffHeapNumberList list = new OffHeapNumberList()) {
+            list.add(null);
+        }
+    }
+
+    private static byte[] toBytes(OffHeapNumberList list) {
+        byte[] res = new byte[list.size()];
+        for (int i = 0; i < res.length; ++i) {
+            res[i] = list.get(i);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PersistentNumberListTest {
+
+    @Test
+    public void testRoundTrip() {
+        NumberListImpl source = new NumberListImpl("1212144468782345613");
+        PersistentNumberList list = PersistentNumberList.of(source);
+
+        assertEquals(source, list);
+        assertEquals(new ArrayList<>(source).hashCode(), list.hashCode());
+        assertEquals(source, list.toNumberList());
+        assertEquals("1212144468782345613", list.toDecimalString());
+        assertEquals(source.changeScale(), list.changeScale());
+    }
+
+    @Test
+    public void testOldVersionsAreUnchanged() {
+        PersistentNumberList v1 = PersistentNumberList.of(new NumberListImpl("15"));
+        String before = v1.toString();
+
+        PersistentNumberList v2 = v1.with(0, (byte) 2).insert(1, (byte) 0).rotate(1);
+        PersistentNumberList v3 = v2.without(0);
+
+        assertEquals(before, v1.toString());
+        assertEquals(v1.size() + 1, v2.size());
+        assertEquals(v1.size(), v3.size());
+    }
+
+    @Test
+    public void testOfForeignList() {
+        PersistentNumberList list = PersistentNumberList.of(new BitwiseOperationTest.ForeignList("1201"));
+        assertEquals("1201", list.toString());
+        assertEquals("46", list.toDecimalString());
+    }
+
+    @Test
+    public void testToStringMatchesNumberListImpl() {
+        NumberListImpl hex = NumberListImpl.fromBigInteger(new BigInteger("FACE0B00C", 16), 16);
+        PersistentNumberList list = PersistentNumberList.of(hex);
+
+        assertEquals(hex, list);
+        assertEquals("FACE0B00C", list.toString());
+        assertEquals(hex.toString(), list.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfForeignListWithInvalidDigit() {
+        PersistentNumberList.of(new BitwiseOperationTest.ForeignList("1231"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOfForeignListWithNullDigit() {
+        BitwiseOperationTest.ForeignList source = new BitwiseOperationTest.ForeignList("12");
+        source.add(null);
+        PersistentNumberList.of(source);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMutatorsAreUnsupported() {
+        PersistentNumberList.of(new NumberListImpl("15")).add((byte) 1);
+    }
+
+    @Test
+    public void testRandomOperationsMatchReference() {
+        Random rnd = new Random(8971);
+        List<Byte> expected = new ArrayList<>();
+        PersistentNumberList actual = PersistentNumberList.empty();
+
+        for (int step = 0; step < 5000; ++step) {
+            byte d = (byte) rnd.nextInt(3);
+            int op = expected.isEmpty() ? 0 : rnd.nextInt(5);
+            switch (op) {
+                case 0: {
+                    int i = rnd.nextInt(expected.size() + 1);
+                    expected.add(i, d);
+                    actual = actual.insert(i, d);
+                    break;
+                }
+                case 1: {
+                    int i = rnd.nextInt(expected.size());
+                    expected.set(i, d);
+                    actual = actual.with(i, d);
+                    break;
+                }
+                case 2: {
+                    int i = rnd.nextInt(expected.size());
+                    expected.remove(i);
+                    actual = actual.without(i);
+                    break;
+                }
+                case 3: {
+                    int k = rnd.nextInt(2 * expected.size() + 1) - expected.size();
+                    Collections.rotate(expected, -k);
+                    actual = actual.rotate(k);
+                    break;
+                }
+                default: {
+                    int i = rnd.nextInt(expected.size());
+                    assertEquals(expected.get(i), actual.get(i));
+                    break;
+                }
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, new ArrayList<>(actual));
+
+        ListIterator<Byte> it = actual.listIterator(actual.size());
+        for (int i = expected.size() - 1; i >= 0; --i) {
+            assertEquals(expected.get(i), it.previous());
+        }
+        assertEquals(expected.subList(3, 40), new ArrayList<>(actual.subList(3, 40)));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RadixConversionTest {
+
+    @Test
+    public void testRoundTripAllBases() {
+        Random rnd = new Random(8971);
+        for (int base = 2; base <= 16; ++base) {
+            for (int len : new int[] {1, 17, 40, 63, 64, 65, 500, 3001}) {
+                byte[] digits = new byte[len];
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < len; ++i) {
+                    digits[i] = (byte) rnd.nextInt(base);
+                    sb.append(Character.forDigit(digits[i], base));
+                }
+                BigInteger expected = new BigInteger(sb.toString(), base);
+                BigInteger value = RadixConversion.toBigInteger(digits, 0, len, base);
+                assertEquals(expected, value);
+
+                byte[] back = new byte[len + 3];
+                RadixConversion.toDigits(value, base, back, 0, back.length);
+                for (int i = 0; i < 3; ++i) {
+                    assertEquals(0, back[i]);
+                }
+                for (int i = 0; i < len; ++i) {
+                    assertEquals(digits[i], back[i + 3]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseDecimal() {
+        Random rnd = new Random(8971);
+        StringBuilder sb = new StringBuilder("9");
+        for (int i = 0; i < 5000; ++i) {
+            sb.append(rnd.nextInt(10));
+            if (i % 997 == 0) {
+                assertEquals(new BigInteger(sb.toString()), RadixConversion.parseDecimal(sb.toString()));
+            }
+        }
+        assertEquals(new BigInteger(sb.toString()), RadixConversion.parseDecimal(sb.toString()));
+    }
+
+    @Test
+    public void testParallel() {
+        Random rnd = new Random(8971);
+        int threshold = RadixConversion.parallelThreshold();
+        try {
+            for (int base : new int[] {3, 7, 10}) {
+                for (int len : new int[] {1, 100, 4001, 20000}) {
+                    byte[] digits = new byte[len];
+                    for (int i = 0; i < len; ++i) {
+                        digits[i] = (byte) rnd.nextInt(base);
+                    }
+                    RadixConversion.setParallelThreshold(Integer.MAX_VALUE);
+                    BigInteger expected = RadixConversion.toBigInteger(digits, 0, len, base);
+                    byte[] back = new byte[len + 2];
+                    RadixConversion.toDigits(expected, base, back, 0, back.length);
+
+                    for (int t : new int[] {1, 64, 1000}) {
+                        RadixConversion.setParallelThreshold(t);
+                        assertEquals(expected, RadixConversion.toBigInteger(digits, 0, len, base));
+                        byte[] parallel = new byte[len + 2];
+                        RadixConversion.toDigits(expected, base, parallel, 0, parallel.length);
+                        assertArrayEquals(back, parallel);
+                        assertEquals(expected.toString(), RadixConversion.toDecimalString(expected));
+                    }
+                }
+            }
+        } finally {
+            RadixConversion.setParallelThreshold(threshold);
+        }
+    }
+
+    @Test
+    public void testParallelNumberList() {
+        StringBuilder sb = new StringBuilder("1");
+        Random rnd = new Random(8971);
+        for (int i = 0; i < 30000; ++i) {
+            sb.append(rnd.nextInt(10));
+        }
+        String value = sb.toString();
+        int threshold = NumberListImpl.getParallelConversionThreshold();
+        try {
+            NumberListImpl.setParallelConversionThreshold(Integer.MAX_VALUE);
+            NumberListImpl sequential = new NumberListImpl(value);
+            NumberListImpl.setParallelConversionThreshold(500);
+            NumberListImpl parallel = new NumberListImpl(value);
+            assertEquals(sequential, parallel);
+            assertEquals(value, parallel.toDecimalString());
+            assertEquals(sequential.changeScale(), parallel.changeScale());
+        } finally {
+            NumberListImpl.setParallelConversionThreshold(threshold);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        NumberListImpl.setParallelConversionThreshold(0);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RenderingCacheTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    @Test
+    public void testRepeatedRendersAreCached() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+
+        assertSame(list.toString(), list.toString());
+        assertSame(list.toDecimalString(), list.toDecimalString());
+    }
+
+    @Test
+    public void testOptimisticRendersArePublished() {
+        ConcurrentNumberList list = new ConcurrentNumberList(new NumberListImpl(VALUE));
+
+        assertSame(list.toString(), list.toString());
+        assertSame(list.toDecimalString(), list.toDecimalString());
+        assertEquals(new NumberListImpl(VALUE).hashCode(), list.hashCode());
+
+        list.add((byte) 1);
+        assertEquals(new NumberListImpl(VALUE).toString() + "1", list.toString());
+        assertEquals(list.snapshot().hashCode(), list.hashCode());
+    }
+
+    @Test
+    public void testMutationsInvalidate() {
+        NumberListImpl list = new NumberListImpl(VALUE);
+        assertConsistent(list);
+
+        list.set(0, (byte) 1);
+        assertConsistent(list);
+        list.shiftLeft();
+        assertConsistent(list);
+        list.sortAscending();
+        assertConsistent(list);
+        list.swap(0, list.size() - 1);
+        assertConsistent(list);
+        list.remove(0);
+        assertConsistent(list);
+
+        list.clear();
+        assertEquals("", list.toString());
+        assertEquals("0", list.toDecimalString());
+    }
+
+    private static void assertConsistent(NumberListImpl list) {
+        StringBuilder digits = new StringBuilder();
+        for (byte d : list.toDigitArray()) {
+            digits.append(d);
+        }
+        assertEquals(digits.toString(), list.toString());
+        assertEquals(new BigInteger(list.toString(), 3).toString(), list.toDecimalString());
+    }
+
+    @Test
+    public void testLargeRendering() {
+        StringBuilder sb = new StringBuilder("1");
+        for (int i = 0; i < 5000; ++i) {
+            sb.append(i % 10);
+        }
+        NumberListImpl list = new NumberListImpl(sb.toString());
+
+        assertEquals(sb.toString(), list.toDecimalString());
+        assertEquals(sb.toString(), list.toDecimalString());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResultReuseTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+    static final String ARG = "12345678901234567890123";
+
+    @After
+    public void tearDown() {
+        NumberListMetrics.setEnabled(false);
+        NumberListMetrics.reset();
+    }
+
+    @Test
+    public void testAdditionalOperationIntoDest() {
+        String[] previous = {"", "5", "4000000000000000000000000", VALUE + VALUE};
+        for (String p : previous) {
+            for (String value : new String[] {VALUE, "1000", ARG}) {
+                for (String arg : new String[] {ARG, "7", VALUE}) {
+                    NumberListImpl a = new NumberListImpl(value);
+                    NumberListImpl b = new NumberListImpl(arg);
+                    NumberListImpl dest = inflated(p);
+                    assertSame(dest, a.additionalOperation(b, dest));
+                    assertResult(a.additionalOperation(b), dest);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChangeScaleIntoDest() {
+        for (String p : new String[] {"", "5", ARG, VALUE + VALUE}) {
+            for (String value : new String[] {VALUE, "1000", "0"}) {
+                NumberListImpl a = new NumberListImpl(value);
+                NumberListImpl dest = inflated(p);
+                assertSame(dest, a.changeScale(dest));
+                assertResult(a.changeScale(), dest);
+
+                NumberListImpl compact = new NumberListImpl(p);
+                a.changeScale(compact);
+                assertResult(a.changeScale(), compact);
+            }
+        }
+    }
+
+    @Test
+    public void testDestIsOperand() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl expected = a.additionalOperation(new NumberListImpl(ARG));
+        a.additionalOperation(new NumberListImpl(ARG), a);
+        assertResult(expected, a);
+
+        NumberListImpl b = new NumberListImpl(ARG);
+        expected = new NumberListImpl(VALUE).additionalOperation(b);
+        new NumberListImpl(VALUE).additionalOperation(b, b);
+        assertResult(expected, b);
+
+        NumberListImpl c = new NumberListImpl(VALUE);
+        expected = c.changeScale();
+        c.changeScale(c);
+        assertResult(expected, c);
+    }
+
+    @Test
+    public void testNodesReused() {
+        NumberListImpl a = new NumberListImpl(VALUE);
+        NumberListImpl octal = a.changeScale();
+        NumberListImpl b = new NumberListImpl(ARG);
+        NumberListImpl dest = a.changeScale();
+        dest.inflate();
+
+        NumberListMetrics.reset();
+        NumberListMetrics.setEnabled(true);
+        a.changeScale(dest);
+        assertEquals(0, NumberListMetrics.snapshot().nodesAllocated());
+
+        int before = dest.size();
+        octal.additionalOperation(b, dest);
+        assertEquals(0, NumberListMetrics.snapshot().nodesAllocated());
+        assertEquals(before - dest.size(), NumberListMetrics.snapshot().nodesUnlinked());
+    }
+
+    @Test
+    public void testPooledLoop() {
+        NumberListImpl.setNodePooling(true);
+        try {
+            NumberListImpl b = new NumberListImpl(ARG);
+            NumberListImpl[] sources = new NumberListImpl[20];
+            for (int i = 0; i < sources.length; ++i) {
+                sources[i] = new NumberListImpl(VALUE.substring(i));
+            }
+            NumberListImpl dest = new NumberListImpl(VALUE);
+            for (int i = 0; i < 100; ++i) {
+                sources[i % sources.length].additionalOperation(b, dest).changeScale(dest);
+            }
+            NumberListMetrics.reset();
+            NumberListMetrics.setEnabled(true);
+            for (int i = 0; i < 1000; ++i) {
+                sources[i % sources.length].additionalOperation(b, dest).changeScale(dest);
+            }
+            NumberListMetrics.Snapshot s = NumberListMetrics.snapshot();
+            assertEquals(0, s.nodesAllocated());
+            assertTrue(s.nodesUnlinked() > 0);
+        } finally {
+            NumberListImpl.setNodePooling(false);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenDest() {
+        new NumberListImpl(VALUE).changeScale(NumberListImpl.valueOf(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullDest() {
+        new NumberListImpl(VALUE).additionalOperation(new NumberListImpl(ARG), null);
+    }
+
+    private static NumberListImpl inflated(String value) {
+        NumberListImpl res = new NumberListImpl(value);
+        res.inflate();
+        return res;
+    }
+
+    private static void assertResult(NumberListImpl expected, NumberListImpl actual) {
+        assertEquals(expected.base(), actual.base());
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.toDecimalString(), actual.toDecimalString());
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.size(), actual.toDigitArray().length);
+    }
+}
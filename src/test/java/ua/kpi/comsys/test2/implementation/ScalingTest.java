@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs operations at doubling input sizes, fits the growth exponent
+ * <tt>e</tt> of <tt>time ~ n<sup>e</sup></tt> by least squares on log-log
+ * scale and fails when it exceeds the declared complexity class.<p>
+ *
+ * Every point is the minimum of several runs, which filters out GC pauses
+ * and scheduling noise. A sweep that exceeds its bound is repeated before
+ * the test fails, since an accidental O(n<sup>2</sup>) path exceeds it on
+ * every attempt.
+ */
+public class ScalingTest {
+
+    enum Complexity {
+        LINEAR(1.5),
+        /** Divide-and-conquer conversions on top of <tt>BigInteger</tt>. */
+        SUBQUADRATIC(1.85);
+
+        final double maxExponent;
+
+        Complexity(double maxExponent) {
+            this.maxExponent = maxExponent;
+        }
+    }
+
+    static final int POINTS = 5;
+    static final int RUNS = 5;
+    static final int ATTEMPTS = 3;
+
+    static final int LINEAR_MIN = 1 << 13;
+    static final int CONVERSION_MIN = 1 << 13;
+
+    @Test
+    public void testAppend() {
+        assertScales("add(Byte)", Complexity.LINEAR, LINEAR_MIN, n -> () -> {
+            NumberListImpl list = new NumberListImpl();
+            for (int i = 0; i < n; ++i) {
+                list.add((byte) (i % 3));
+            }
+        });
+    }
+
+    @Test
+    public void testInsertAndRemoveHead() {
+        assertScales("add(0)/remove(0)", Complexity.LINEAR, LINEAR_MIN, n -> () -> {
+            NumberListImpl list = new NumberListImpl();
+            for (int i = 0; i < n; ++i) {
+                list.add(0, (byte) (i % 3));
+            }
+            while (!list.isEmpty()) {
+                list.remove(0);
+            }
+        });
+    }
+
+    @Test
+    public void testTraversals() {
+        assertScales("iterator", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> {
+                for (Byte b : list) {
+                    if (b == null) fail();
+                }
+            };
+        });
+        assertScales("toArray(T[])", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> list.toArray(new Byte[0]);
+        });
+        assertScales("equals", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl a = randomList(n);
+            NumberListImpl b = a.copy();
+            return () -> assertTrue(a.equals(b));
+        });
+        assertScales("subList", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> list.subList(n / 4, n - n / 4);
+        });
+    }
+
+    @Test
+    public void testSortsAndShifts() {
+        assertScales("sortAscending/sortDescending", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> {
+                list.sortAscending();
+                list.sortDescending();
+            };
+        });
+        assertScales("shiftLeft/shiftRight", Complexity.LINEAR, LINEAR_MIN, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> {
+                list.shiftLeft();
+                list.shiftRight();
+            };
+        });
+    }
+
+    @Test
+    public void testConversions() {
+        assertScales("NumberListImpl(String)", Complexity.SUBQUADRATIC, CONVERSION_MIN, n -> {
+            String decimal = randomDecimal(n);
+            return () -> new NumberListImpl(decimal);
+        });
+        assertScales("toDecimalString", Complexity.SUBQUADRATIC, CONVERSION_MIN, n -> {
+            NumberListImpl list = new NumberListImpl(randomDecimal(n));
+            return () -> {
+                // rewrite a digit to bypass the rendering cache
+                list.set(0, list.get(0));
+                list.toDecimalString();
+            };
+        });
+        assertScales("changeScale", Complexity.SUBQUADRATIC, CONVERSION_MIN, n -> {
+            NumberListImpl list = new NumberListImpl(randomDecimal(n));
+            return list::changeScale;
+        });
+        assertScales("additionalOperation", Complexity.SUBQUADRATIC, CONVERSION_MIN, n -> {
+            NumberListImpl a = new NumberListImpl(randomDecimal(n));
+            NumberListImpl b = new NumberListImpl(randomDecimal(n / 2));
+            return () -> a.additionalOperation(b);
+        });
+    }
+
+    @Test
+    public void testDetectsQuadratic() {
+        // indexing through get(i) walks the list every time
+        double e = exponent(1 << 9, n -> {
+            NumberListImpl list = randomList(n);
+            return () -> {
+                for (int i = 0; i < n; ++i) {
+                    list.get(i);
+                }
+            };
+        });
+        assertTrue("exponent " + e, e > Complexity.SUBQUADRATIC.maxExponent);
+    }
+
+    /**
+     * Fits exponent for <tt>prepare</tt>, which builds input of given size
+     * and returns timed operation.
+     */
+    private static void assertScales(String name, Complexity complexity, int minSize,
+                                     IntFunction<Runnable> prepare) {
+        double e = 0;
+        for (int attempt = 0; attempt < ATTEMPTS; ++attempt) {
+            e = exponent(minSize, prepare);
+            if (e <= complexity.maxExponent) {
+                return;
+            }
+        }
+        fail(String.format("%s grows as n^%.2f, expected %s (at most n^%.2f)",
+                name, e, complexity, complexity.maxExponent));
+    }
+
+    private static double exponent(int minSize, IntFunction<Runnable> prepare) {
+        // warm up on the largest size
+        Runnable warmUp = prepare.apply(minSize << (POINTS - 1));
+        for (int i = 0; i < 2 * RUNS; ++i) {
+            warmUp.run();
+        }
+        double[] x = new double[POINTS];
+        double[] y = new double[POINTS];
+        for (int p = 0; p < POINTS; ++p) {
+            int n = minSize << p;
+            Runnable op = prepare.apply(n);
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < RUNS; ++i) {
+                long start = System.nanoTime();
+                op.run();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            x[p] = Math.log(n);
+            y[p] = Math.log(Math.max(best, 1));
+        }
+        return slope(x, y);
+    }
+
+    private static double slope(double[] x, double[] y) {
+        double mx = 0, my = 0;
+        for (int i = 0; i < x.length; ++i) {
+            mx += x[i];
+            my += y[i];
+        }
+        mx /= x.length;
+        my /= y.length;
+        double sxy = 0, sxx = 0;
+        for (int i = 0; i < x.length; ++i) {
+            sxy += (x[i] - mx) * (y[i] - my);
+            sxx += (x[i] - mx) * (x[i] - mx);
+        }
+        return sxy / sxx;
+    }
+
+    private static NumberListImpl randomList(int n) {
+        Random rnd = new Random(8971L + n);
+        byte[] digits = new byte[n];
+        digits[0] = 1;
+        for (int i = 1; i < n; ++i) {
+            digits[i] = (byte) rnd.nextInt(3);
+        }
+        return new NumberListImpl(digits, 3);
+    }
+
+    private static String randomDecimal(int n) {
+        Random rnd = new Random(8971L + n);
+        StringBuilder sb = new StringBuilder(n);
+        sb.append(1 + rnd.nextInt(9));
+        for (int i = 1; i < n; ++i) {
+            sb.append(rnd.nextInt(10));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SerializationTest {
+    static final String VALUE = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        assertRoundTrip(new NumberListImpl(VALUE));
+        assertRoundTrip(new NumberListImpl(VALUE).changeScale());
+        assertRoundTrip(new NumberListImpl("12345"));
+        assertRoundTrip(new NumberListImpl("0"));
+        assertRoundTrip(new NumberListImpl());
+        for (int base = 2; base <= 16; ++base) {
+            assertRoundTrip(NumberListImpl.fromBigInteger(new BigInteger(VALUE), base));
+        }
+    }
+
+    @Test
+    public void testLeadingZerosKept() throws Exception {
+        NumberListImpl list = new NumberListImpl(new byte[] {0, 0, 2, 1, 0}, 3);
+        assertRoundTrip(list);
+    }
+
+    @Test
+    public void testUnmodifiableBecomesModifiable() throws Exception {
+        NumberListImpl res = roundTrip(NumberListImpl.valueOf(42));
+        assertEquals("42", res.toDecimalString());
+        res.add((byte) 0);
+        assertEquals("126", res.toDecimalString());
+    }
+
+    @Test
+    public void testCompactForm() throws Exception {
+        Random rnd = new Random(8971);
+        String decimal = new BigInteger(100_000, rnd).toString();
+        NumberListImpl ternary = new NumberListImpl(decimal);
+        NumberListImpl octal = ternary.changeScale();
+
+        // two bits per ternary digit, three per octal one
+        assertPacked(6 + (ternary.size() * 2 + 7) / 8, externalSize(ternary));
+        assertPacked(6 + (octal.size() * 3 + 7) / 8, externalSize(octal));
+        assertTrue(serialize(octal).length * 2 < serialize(decimal).length);
+        assertEquals(ternary, roundTrip(ternary));
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void testUnknownVersion() throws Exception {
+        byte[] bytes = serialize(new NumberListImpl(VALUE));
+        corrupt(bytes, 1, 99);
+        deserialize(bytes);
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void testDigitOutOfRange() throws Exception {
+        byte[] bytes = serialize(new NumberListImpl("8"));
+        // "8" is 22 in ternary, packed as 1010 0000
+        corrupt(bytes, 7, 0xF0);
+        deserialize(bytes);
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void testNegativeSize() throws Exception {
+        byte[] bytes = serialize(new NumberListImpl(VALUE));
+        corrupt(bytes, 3, 0x80);
+        deserialize(bytes);
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void testSizeTooLarge() throws Exception {
+        byte[] bytes = serialize(new NumberListImpl(VALUE));
+        corrupt(bytes, 3, 0x7F);
+        corrupt(bytes, 4, 0xFF);
+        corrupt(bytes, 5, 0xFF);
+        corrupt(bytes, 6, 0xFF);
+        deserialize(bytes);
+    }
+
+    @Test(expected = EOFException.class)
+    public void testForgedSizeFailsAtEndOfStream() throws Exception {
+        byte[] bytes = serialize(new NumberListImpl(VALUE));
+        // claims 2^30 digits, i.e. 256 MiB packed, with a few bytes present
+        corrupt(bytes, 3, 0x40);
+        deserialize(bytes);
+    }
+
+    private static void assertPacked(int expected, int actual) {
+        assertTrue(expected + " packed bytes, serialized " + actual,
+                actual >= expected && actual <= expected + expected / 100 + 8);
+    }
+
+    private static void assertRoundTrip(NumberListImpl list) throws Exception {
+        NumberListImpl res = roundTrip(list);
+        assertEquals(list.base(), res.base());
+        assertEquals(list, res);
+        assertArrayEquals(list.toDigitArray(), res.toDigitArray());
+        assertEquals(list.toDecimalString(), res.toDecimalString());
+    }
+
+    private static NumberListImpl roundTrip(NumberListImpl list) throws Exception {
+        return (NumberListImpl) deserialize(serialize(list));
+    }
+
+    /**
+     * Returns size of the external data of the list, measured against an
+     * empty list; block data headers add under one percent.
+     */
+    private static int externalSize(NumberListImpl list) throws IOException {
+        return serialize(list).length - serialize(new NumberListImpl()).length + 6;
+    }
+
+    /**
+     * Replaces the byte at <tt>offset</tt> from the start of the external
+     * data, located after the class descriptor.
+     */
+    private static void corrupt(byte[] bytes, int offset, int value) {
+        for (int i = 0; i + 1 < bytes.length; ++i) {
+            // TC_BLOCKDATA followed by the length, then the version byte
+            if (bytes[i] == 0x77 && bytes[i + 2] == 1) {
+                bytes[i + 2 + offset - 1] = (byte) value;
+                return;
+            }
+        }
+        throw new AssertionError("external data not found");
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
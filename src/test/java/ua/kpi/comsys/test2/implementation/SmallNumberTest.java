@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SmallNumberTest {
+
+    @Test
+    public void testArithmeticMatchesGeneralPath() {
+        Random rnd = new Random(8971);
+        for (int i = 0; i < 500; ++i) {
+            long a = rnd.nextLong() >>> (1 + rnd.nextInt(63));
+            long b = (rnd.nextLong() >>> (1 + rnd.nextInt(63))) | 1;
+            NumberListImpl la = new NumberListImpl(Long.toString(a));
+            NumberListImpl lb = new NumberListImpl(Long.toString(b));
+
+            assertEquals(Long.toString(a), la.toDecimalString());
+            assertEquals(BigInteger.valueOf(a).toString(3), la.toString());
+            assertEquals(BigInteger.valueOf(a).toString(8), la.changeScale().toString());
+            assertEquals(BigInteger.valueOf(a % b).toString(3), la.additionalOperation(lb).toString());
+            assertEquals(Long.signum(Long.compare(a, b)), Integer.signum(la.compareTo(lb)));
+        }
+    }
+
+    @Test
+    public void testAppendPastLongRange() {
+        NumberListImpl list = new NumberListImpl();
+        BigInteger expected = BigInteger.ZERO;
+        for (int i = 0; i < 100; ++i) {
+            byte d = (byte) (i % 3);
+            list.add(d);
+            expected = expected.multiply(BigInteger.valueOf(3)).add(BigInteger.valueOf(d));
+            assertEquals(expected.toString(), list.toDecimalString());
+        }
+        assertEquals(100, list.size());
+    }
+
+    @Test
+    public void testLeadingZerosArePreserved() {
+        NumberListImpl list = new NumberListImpl();
+        list.add((byte) 0);
+        list.add((byte) 0);
+        list.add((byte) 2);
+
+        assertEquals(3, list.size());
+        assertEquals("002", list.toString());
+        assertEquals("2", list.toDecimalString());
+        assertEquals(Byte.valueOf((byte) 0), list.get(1));
+    }
+
+    @Test
+    public void testPositionalMutation() {
+        NumberListImpl list = new NumberListImpl("15");
+        list.set(0, (byte) 2);
+        list.add(0, (byte) 1);
+
+        assertEquals("1220", list.toString());
+        assertEquals("51", list.toDecimalString());
+        assertEquals(new NumberListImpl("51").changeScale(), list.changeScale());
+    }
+
+    @Test
+    public void testReadsMatchNodes() {
+        Random rnd = new Random(8971);
+        for (int i = 0; i < 500; ++i) {
+            NumberListImpl small = new NumberListImpl();
+            for (int j = rnd.nextInt(3); j > 0; --j) {
+                small.add((byte) 0);
+            }
+            for (long v = rnd.nextLong() >>> (1 + rnd.nextInt(63)); v > 0; v /= 3) {
+                small.add((byte) (v % 3));
+            }
+            check(small);
+            check(small.changeScale());
+        }
+    }
+
+    private static void check(NumberListImpl small) {
+        NumberListImpl nodes = new NumberListImpl(small.toDigitArray(), small.base());
+        List<Byte> expected = new ArrayList<>(nodes);
+        byte d = (byte) (small.isEmpty() ? 0 : small.getDigit(small.size() / 2));
+
+        assertEquals(expected, new ArrayList<>(small));
+        assertEquals(nodes.toString(), small.toString());
+        assertEquals(expected.hashCode(), small.hashCode());
+        assertEquals(nodes, small);
+        assertEquals(small, nodes);
+        assertEquals(small, new BitwiseOperationTest.ForeignList(nodes.toString()));
+        assertArrayEquals(expected.toArray(), small.toArray());
+        assertArrayEquals(expected.toArray(new Byte[0]), small.toArray(new Byte[0]));
+        assertEquals(expected.indexOf(d), small.indexOf(d));
+        assertEquals(expected.lastIndexOf(d), small.lastIndexOf(d));
+        assertEquals(expected.contains((byte) 1), small.contains((byte) 1));
+        assertEquals(0, small.compareTo(nodes));
+        if (small.size() > 1) {
+            assertEquals(expected.subList(1, small.size()), small.subList(1, small.size()));
+        }
+    }
+
+    @Test
+    public void testConcurrentReadsOfSmallNumber() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int round = 0; round < 200 && failure.get() == null; ++round) {
+            NumberListImpl list = new NumberListImpl("1212144468782345613");
+            String digits = new NumberListImpl("1212144468782345613").toString();
+            Thread[] readers = new Thread[4];
+            for (int t = 0; t < readers.length; ++t) {
+                final int kind = t;
+                readers[t] = new Thread(() -> {
+                    try {
+                        switch (kind) {
+                            case 0: assertEquals(digits, list.toString()); break;
+                            case 1: assertEquals(digits.length(), list.toArray().length); break;
+                            case 2: assertEquals(digits.charAt(7) - '0', list.getDigit(7)); break;
+                            default: assertEquals(Arrays.asList(list.toArray()).hashCode(), list.hashCode());
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+            }
+            for (Thread t : readers) t.start();
+            for (Thread t : readers) t.join();
+        }
+        assertNull(failure.get());
+    }
+}
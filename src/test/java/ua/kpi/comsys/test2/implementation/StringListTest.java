@@ -71,5 +71,27 @@ public class StringListTest {
         assertTrue("List should be empty!", list1.isEmpty());
     }
 
+    @Test
+    public void testNonAsciiDigits() {
+        // Arabic-Indic digits, read as by BigInteger(String)
+        list1 = new NumberListImpl("\u0661\u0662\u0663");
+        assertEquals("Wrong value", "123", list1.toDecimalString());
+
+        StringBuilder sb = new StringBuilder();
+        String value = "79483758967495604375647803561675463655464562565464565654634156134636";
+        for (char c : value.toCharArray()) {
+            // alternate Devanagari and fullwidth digits
+            sb.append((char) ((sb.length() % 2 == 0 ? '\u0966' : '\uFF10') + c - '0'));
+        }
+        list2 = new NumberListImpl(sb.toString());
+        assertEquals("Wrong value", value, list2.toDecimalString());
+    }
 
+    @Test
+    public void testEmptyAfterSign() {
+        list1 = new NumberListImpl("+");
+
+        assertNotNull("List is null while it shouldn't!", list1);
+        assertTrue("List should be empty!", list1.isEmpty());
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StripedNumberAccumulatorTest {
+
+    @Test
+    public void testEmptyTotal() {
+        StripedNumberAccumulator acc = new StripedNumberAccumulator();
+        assertEquals("0", acc.toDecimalString());
+        assertEquals(new NumberListImpl("0"), acc.toNumberList());
+    }
+
+    @Test
+    public void testCarryAcrossLimbs() {
+        StripedNumberAccumulator acc = new StripedNumberAccumulator();
+        acc.add(Long.MAX_VALUE);
+        acc.add(Long.MAX_VALUE);
+        acc.add(new NumberListImpl("79483758967495604375647803561675463655464562565464565654634156134636"));
+
+        BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1)
+                .add(new BigInteger("79483758967495604375647803561675463655464562565464565654634156134636"));
+        assertEquals(expected, acc.sum());
+        assertEquals(new NumberListImpl(expected.toString()), acc.toNumberList());
+
+        acc.reset();
+        assertEquals(BigInteger.ZERO, acc.sum());
+    }
+
+    @Test
+    public void testConfiguredBase() {
+        StripedNumberAccumulator acc = new StripedNumberAccumulator(8);
+        acc.add(new NumberListImpl("1212144468782345613"));
+        assertEquals("103223157433616366615", acc.toNumberList().toString());
+    }
+
+    @Test
+    public void testConcurrentAdders() throws InterruptedException {
+        StripedNumberAccumulator acc = new StripedNumberAccumulator();
+        NumberListImpl big = new NumberListImpl("18446744073709551617");
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; ++t) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; ++i) {
+                    acc.add(big);
+                    acc.add(1);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        BigInteger expected = new BigInteger("18446744073709551618").multiply(BigInteger.valueOf(8000));
+        assertEquals(expected, acc.sum());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014-2025, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ValueOfTest {
+
+    @Test
+    public void testCachedInstances() {
+        assertSame(NumberListImpl.valueOf(15), NumberListImpl.valueOf(15));
+        assertSame(NumberListImpl.valueOf(15), NumberListImpl.valueOf(" +15 "));
+        assertNotSame(NumberListImpl.valueOf(100000), NumberListImpl.valueOf(100000));
+    }
+
+    @Test
+    public void testSameDigitsAsConstructor() {
+        String[] values = {"0", "1", "2", "3", "1023", "1024", "999999999999999999",
+                Long.toString(Long.MAX_VALUE), "79483758967495604375647803561675463655464562565464565654634156134636"};
+        for (String v : values) {
+            assertEquals(v, new NumberListImpl(v), NumberListImpl.valueOf(v));
+            assertEquals(v, NumberListImpl.valueOf(v).toDecimalString());
+        }
+        assertEquals(new NumberListImpl("9223372036854775807"), NumberListImpl.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedInstanceIsUnmodifiable() {
+        NumberListImpl.valueOf(7).add((byte) 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLargeInstanceIsUnmodifiable() {
+        NumberListImpl.valueOf("79483758967495604375647803561675463655464562565464565654634156134636").clear();
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidString() {
+        NumberListImpl.valueOf("12a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        NumberListImpl.valueOf(-4);
+    }
+}